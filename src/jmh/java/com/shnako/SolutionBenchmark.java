@@ -0,0 +1,65 @@
+package com.shnako;
+
+import com.shnako.solutions.InputGeneratorBase;
+import com.shnako.solutions.SolutionBase;
+import com.shnako.util.InputProcessingUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/*
+JMH generates a benchmark for every combination of the day, part and input parameters below,
+so each part of each day gets its own throughput, average time and allocation rate (via the gc profiler) figures.
+The input is either the real input or one generated at the given multiple of its size,
+which shows how the time and memory used by each solution grow with the size of its input.
+The solution instance is created and the input generated once per trial, so neither is measured.
+
+Run all of them with:
+    ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+public class SolutionBenchmark {
+    @Param({"01", "02", "03", "04", "05", "06", "07", "08", "09", "10", "11", "12", "13",
+            "14", "15", "16", "17", "18", "19", "20", "21", "22", "23", "24", "25"})
+    private String day;
+
+    @Param({"1", "2"})
+    private int part;
+
+    @Param({"real", "1", "10", "100", "1000"})
+    private String input;
+
+    private SolutionBase solution;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        solution = Main.getSolutionInstance(day);
+        if (solution == null) {
+            throw new IllegalStateException("Solution for day " + day + " not found.");
+        }
+
+        if (!"real".equals(input)) {
+            InputGeneratorBase generator = InputGeneratorBase.getInstance(day);
+            if (generator == null) {
+                throw new IllegalStateException("Input generator for day " + day + " not found.");
+            }
+            Path generatedInput = generator.generate(Integer.parseInt(input), InputGeneratorBase.DEFAULT_SEED);
+            InputProcessingUtil.overrideInput(day, generatedInput);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        InputProcessingUtil.clearInputOverride(day);
+    }
+
+    @Benchmark
+    public String runPart() throws Exception {
+        return switch (part) {
+            case 1 -> solution.runPart1();
+            case 2 -> solution.runPart2();
+            default -> throw new IllegalStateException("Unexpected part: " + part);
+        };
+    }
+}
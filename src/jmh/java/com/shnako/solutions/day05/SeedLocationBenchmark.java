@@ -0,0 +1,66 @@
+package com.shnako.solutions.day05;
+
+import com.shnako.solutions.InputGeneratorBase;
+import com.shnako.util.InputProcessingUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+
+/*
+Compares the day 5 seed location kernels, finding the minimum location of a number of random seeds.
+The almanac is either the real input or one generated at the given multiple of its size,
+whose seed to location map has many more ranges, which the scalar and vector kernels go through for every seed.
+The seeds are mapped in batches of up to BATCH_SIZE seeds, so even the largest seed counts fit in memory.
+The vector kernel needs the jdk.incubator.vector module, which is only added to the JVMs forked for this benchmark.
+
+Run them with:
+    java -jar build/libs/advent-of-code-2023-1.0-SNAPSHOT-jmh.jar SeedLocationBenchmark
+ */
+@State(Scope.Benchmark)
+@Fork(jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class SeedLocationBenchmark {
+    private static final int BATCH_SIZE = 1_000_000;
+
+    @Param({"BINARY_SEARCH", "SCALAR", "VECTOR"})
+    private Solution.SeedLocationKernel kernel;
+
+    @Param({"1000000", "10000000", "100000000"})
+    private int seedCount;
+
+    @Param({"real", "10", "100"})
+    private String input;
+
+    private Solution solution;
+    private long[] seeds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if (!kernel.isAvailable()) {
+            throw new IllegalStateException("The " + kernel + " kernel is not available.");
+        }
+        if (!"real".equals(input)) {
+            Path generatedInput = new InputGenerator().generate(Integer.parseInt(input), InputGeneratorBase.DEFAULT_SEED);
+            InputProcessingUtil.overrideInput("05", generatedInput);
+        }
+        solution = new Solution();
+        seeds = new Random(5).longs(Math.min(seedCount, BATCH_SIZE), 0, 1L << 32).toArray();
+        // Parses the almanac, so it isn't measured.
+        solution.findMinimumLocation(seeds, kernel);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        InputProcessingUtil.clearInputOverride("05");
+    }
+
+    @Benchmark
+    public long findMinimumLocation() throws IOException {
+        long minimumLocation = Long.MAX_VALUE;
+        for (int mapped = 0; mapped < seedCount; mapped += seeds.length) {
+            minimumLocation = Math.min(minimumLocation, solution.findMinimumLocation(seeds, kernel));
+        }
+        return minimumLocation;
+    }
+}
@@ -0,0 +1,126 @@
+package com.shnako;
+
+import com.shnako.solutions.SolutionBase;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/*
+Runs both parts of every day found on the classpath on an executor and prints a consolidated timing table.
+Every part gets its own solution instance, as most solutions keep their working state in instance fields,
+so parts running at the same time never share any state.
+
+The executor is either a platform thread pool sized to the number of cores or a virtual thread per part.
+The CPU time of virtual threads can't be measured, so it is only reported for the platform executor,
+but the process CPU time is reported for both so that it can be compared to the wall-clock time.
+ */
+class AllDaysRunner {
+    private static final int MAX_DAY = 25;
+
+    static void run(String executorType) throws Exception {
+        List<String> days = findAllDays();
+        System.out.printf("Running %d days on the %s executor.%n", days.size(), executorType);
+
+        long processCpuStart = getProcessCpuTime();
+        long start = System.nanoTime();
+        List<PartResult> results = new ArrayList<>(days.size() * 2);
+        try (ExecutorService executor = createExecutor(executorType)) {
+            List<Future<PartResult>> futures = new ArrayList<>(days.size() * 2);
+            for (String day : days) {
+                for (int part = 1; part <= 2; part++) {
+                    int finalPart = part;
+                    futures.add(executor.submit(() -> runPart(day, finalPart)));
+                }
+            }
+            for (Future<PartResult> future : futures) {
+                results.add(future.get());
+            }
+        }
+        long wallClockTime = System.nanoTime() - start;
+        long processCpuTime = getProcessCpuTime() - processCpuStart;
+
+        printResults(results, wallClockTime, processCpuTime);
+    }
+
+    static List<String> findAllDays() {
+        List<String> days = new ArrayList<>(MAX_DAY);
+        for (int day = 1; day <= MAX_DAY; day++) {
+            String dayString = String.format("%02d", day);
+            if (Main.getSolutionInstance(dayString) != null) {
+                days.add(dayString);
+            }
+        }
+        return days;
+    }
+
+    private static ExecutorService createExecutor(String executorType) {
+        return switch (executorType) {
+            case "platform" -> Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+            case "virtual" -> Executors.newVirtualThreadPerTaskExecutor();
+            default -> throw new IllegalArgumentException("Unexpected executor type: " + executorType);
+        };
+    }
+
+    private static PartResult runPart(String day, int part) {
+        SolutionBase solution = Main.getSolutionInstance(day);
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+        long cpuStart = threadMXBean.getCurrentThreadCpuTime();
+        long start = System.nanoTime();
+        String result;
+        try {
+            result = switch (part) {
+                case 1 -> solution.runPart1();
+                case 2 -> solution.runPart2();
+                default -> throw new IllegalStateException("Unexpected part: " + part);
+            };
+        } catch (Exception e) {
+            result = "ERROR: " + e;
+        }
+        long time = System.nanoTime() - start;
+        long cpuEnd = threadMXBean.getCurrentThreadCpuTime();
+
+        // The CPU time is -1 when it's not supported for the current thread, like for virtual threads.
+        long cpuTime = cpuStart == -1 || cpuEnd == -1 ? -1 : cpuEnd - cpuStart;
+        return new PartResult(day, part, time, cpuTime, result);
+    }
+
+    private static long getProcessCpuTime() {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean osMXBean) {
+            return osMXBean.getProcessCpuTime();
+        }
+        return -1;
+    }
+
+    private static void printResults(List<PartResult> results, long wallClockTime, long processCpuTime) {
+        System.out.printf("%n%-4s %-5s %12s %12s  %s%n", "Day", "Part", "Time (ms)", "CPU (ms)", "Result");
+        long summedTime = 0, summedCpuTime = 0;
+        for (PartResult result : results) {
+            System.out.printf("%-4s %-5d %12.3f %12s  %s%n", result.day, result.part, toMillis(result.time),
+                    formatCpuTime(result.cpuTime), result.result);
+            summedTime += result.time;
+            summedCpuTime = summedCpuTime == -1 || result.cpuTime == -1 ? -1 : summedCpuTime + result.cpuTime;
+        }
+
+        System.out.printf("%nWall-clock time: %.3f ms%n", toMillis(wallClockTime));
+        System.out.printf("Summed part time: %.3f ms%n", toMillis(summedTime));
+        System.out.printf("Summed part CPU time: %s%n", formatCpuTime(summedCpuTime) + (summedCpuTime == -1 ? "" : " ms"));
+        System.out.printf("Process CPU time: %s%n", formatCpuTime(processCpuTime) + (processCpuTime == -1 ? "" : " ms"));
+    }
+
+    private static String formatCpuTime(long cpuTime) {
+        return cpuTime == -1 ? "n/a" : String.format("%.3f", toMillis(cpuTime));
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private record PartResult(String day, int part, long time, long cpuTime, String result) {
+    }
+}
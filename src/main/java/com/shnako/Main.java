@@ -1,12 +1,37 @@
 package com.shnako;
 
+import com.shnako.solutions.InputGeneratorBase;
 import com.shnako.solutions.SolutionBase;
 import org.apache.commons.lang3.StringUtils;
 
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Scanner;
 
 public class Main {
     public static void main(String[] args) throws Exception {
+        if (args.length > 0 && "all".equals(args[0])) {
+            AllDaysRunner.run(args.length > 1 ? args[1] : "platform");
+            return;
+        }
+
+        if (args.length > 0 && "measure".equals(args[0])) {
+            measure(args);
+            return;
+        }
+
+        if (args.length > 0 && "generate".equals(args[0])) {
+            generate(args);
+            return;
+        }
+
+        if (args.length > 0 && "server".equals(args[0])) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : 8023;
+            int warmupIterations = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+            SolverServer.run(port, warmupIterations);
+            return;
+        }
+
         String day = getDay(args);
 
         SolutionBase solution = getSolutionInstance(day);
@@ -30,18 +55,66 @@ public class Main {
     private static void runPart(SolutionBase solution, String day, int part) throws Exception {
         System.out.printf("Running day %s part %d.", day, part);
 
-        long start = System.currentTimeMillis();
+        long start = System.nanoTime();
         String result = switch (part) {
             case 1 -> solution.runPart1();
             case 2 -> solution.runPart2();
             default -> throw new IllegalStateException("Unexpected part: " + part);
         };
-        long executionTime = System.currentTimeMillis() - start;
+        double executionTime = (System.nanoTime() - start) / 1_000_000.0;
 
-        System.out.printf("%nSolution for day %s part %d took %d ms to run. Result:%n", day, part, executionTime);
+        System.out.printf("%nSolution for day %s part %d took %.3f ms to run. Result:%n", day, part, executionTime);
         System.out.println(result);
     }
 
+    private static void measure(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.out.println("Usage: measure <day or all> <part> [warm-up iterations] [measurement iterations] [real or scale]");
+            System.exit(1);
+            return;
+        }
+
+        List<String> days = "all".equals(args[1])
+                ? AllDaysRunner.findAllDays()
+                : List.of(formatDay(args[1]));
+        int part = Integer.parseInt(args[2]);
+        int warmupIterations = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+        int measurementIterations = args.length > 4 ? Integer.parseInt(args[4]) : 20;
+        if (measurementIterations < 1) {
+            throw new IllegalArgumentException("At least one measurement iteration is required.");
+        }
+        String input = args.length > 5 ? args[5] : "real";
+        if (!"real".equals(input) && !StringUtils.isNumeric(input)) {
+            throw new IllegalArgumentException("The input must be real or the scale of a generated input: " + input);
+        }
+
+        MeasurementRunner.run(days, part, warmupIterations, measurementIterations, input);
+    }
+
+    private static void generate(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.out.println("Usage: generate <day or all> <scale> [seed]");
+            System.exit(1);
+            return;
+        }
+
+        List<String> days = "all".equals(args[1])
+                ? AllDaysRunner.findAllDays()
+                : List.of(formatDay(args[1]));
+        int scale = Integer.parseInt(args[2]);
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : InputGeneratorBase.DEFAULT_SEED;
+
+        for (String day : days) {
+            InputGeneratorBase generator = InputGeneratorBase.getInstance(day);
+            if (generator == null) {
+                System.out.printf("Input generator for day %s not found.%n", day);
+                continue;
+            }
+            Path file = generator.generate(scale, seed);
+            System.out.printf("Generated day %s input at %dx scale: %s%n", day, scale, file);
+        }
+    }
+
     private static String getDay(String[] args) {
         String day;
         if (args.length > 0 && StringUtils.isNumeric(args[0])) {
@@ -51,6 +124,10 @@ public class Main {
             System.out.print("Day: ");
             day = in.nextLine();
         }
+        return formatDay(day);
+    }
+
+    private static String formatDay(String day) {
         if (day.length() == 1) {
             day = "0" + day;
         }
@@ -74,7 +151,7 @@ public class Main {
         return part;
     }
 
-    private static SolutionBase getSolutionInstance(String day) {
+    static SolutionBase getSolutionInstance(String day) {
         String solutionClassName = Main.class.getPackageName() + ".solutions.day" + day + ".Solution";
 
         Class<?> solutionClass;
@@ -0,0 +1,166 @@
+package com.shnako;
+
+import com.shnako.solutions.InputGeneratorBase;
+import com.shnako.solutions.SolutionBase;
+import com.shnako.util.InputProcessingUtil;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/*
+Measures each part over a number of warm-up iterations, which are discarded, followed by the measured iterations.
+Every iteration uses a new solution instance, so no state is carried over between iterations,
+but the instance is created outside the measured section.
+The time of each iteration is measured with System.nanoTime and the allocated bytes with the thread's allocation counter.
+The throughput is the size of the input file divided by the median time, in MB/s, where a MB is 1,000,000 bytes.
+The allocation counter only counts the bytes allocated by the measuring thread,
+so anything allocated by the threads of parallel solutions, like day 1's chunked parsing, isn't included,
+which is why the allocation is labelled as the caller's in the table, CSV and JSON.
+
+The input is either the real input or one generated at the given multiple of its size, with the default seed,
+as the real inputs are too small for some solutions, like day 1's, to ever take their parallel paths.
+
+The statistics are printed as a table and written as CSV and JSON to the build/measurements directory.
+ */
+class MeasurementRunner {
+    private static final Path OUTPUT_DIRECTORY = Path.of("build", "measurements");
+
+    static void run(List<String> days, int part, int warmupIterations, int measurementIterations, String input) throws Exception {
+        List<Measurement> measurements = new ArrayList<>();
+        for (String day : days) {
+            if (!"real".equals(input)) {
+                InputGeneratorBase generator = InputGeneratorBase.getInstance(day);
+                if (generator == null) {
+                    System.out.printf("Input generator for day %s not found.%n", day);
+                    continue;
+                }
+                InputProcessingUtil.overrideInput(day, generator.generate(Integer.parseInt(input), InputGeneratorBase.DEFAULT_SEED));
+            }
+            try {
+                for (int currentPart = 1; currentPart <= 2; currentPart++) {
+                    if (part == 0 || part == currentPart) {
+                        System.out.printf("Measuring day %s part %d with the %s input.%n", day, currentPart, input);
+                        measurements.add(measure(day, currentPart, warmupIterations, measurementIterations, input));
+                    }
+                }
+            } finally {
+                InputProcessingUtil.clearInputOverride(day);
+            }
+        }
+
+        printTable(measurements);
+        Files.createDirectories(OUTPUT_DIRECTORY);
+        writeCsv(measurements, OUTPUT_DIRECTORY.resolve("measurements.csv"));
+        writeJson(measurements, OUTPUT_DIRECTORY.resolve("measurements.json"));
+        System.out.printf("%nMeasurements written to %s.%n", OUTPUT_DIRECTORY.toAbsolutePath());
+    }
+
+    private static Measurement measure(String day, int part, int warmupIterations, int measurementIterations, String input) throws Exception {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        for (int i = 0; i < warmupIterations; i++) {
+            runPart(Main.getSolutionInstance(day), part);
+        }
+
+        long[] times = new long[measurementIterations];
+        long callerAllocatedBytes = 0;
+        String result = null;
+        for (int i = 0; i < measurementIterations; i++) {
+            SolutionBase solution = Main.getSolutionInstance(day);
+
+            long callerAllocatedBytesStart = threadMXBean.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            result = runPart(solution, part);
+            times[i] = System.nanoTime() - start;
+            callerAllocatedBytes += threadMXBean.getCurrentThreadAllocatedBytes() - callerAllocatedBytesStart;
+        }
+
+        long inputBytes = Files.size(InputProcessingUtil.getInputPath(day));
+        return new Measurement(day, part, input, Statistics.of(times), callerAllocatedBytes / measurementIterations, inputBytes, result);
+    }
+
+    private static String runPart(SolutionBase solution, int part) throws Exception {
+        return switch (part) {
+            case 1 -> solution.runPart1();
+            case 2 -> solution.runPart2();
+            default -> throw new IllegalStateException("Unexpected part: " + part);
+        };
+    }
+
+    private static void printTable(List<Measurement> measurements) {
+        System.out.printf("%n%-4s %-5s %-6s %6s %12s %12s %12s %12s %12s %14s %12s  %s%n", "Day", "Part", "Input", "Iter.",
+                "Min (ms)", "Median (ms)", "P99 (ms)", "Mean (ms)", "StdDev (ms)", "Caller KB/op", "MB/s", "Result");
+        for (Measurement measurement : measurements) {
+            Statistics statistics = measurement.statistics;
+            System.out.printf("%-4s %-5d %-6s %6d %12.3f %12.3f %12.3f %12.3f %12.3f %14.1f %12.1f  %s%n",
+                    measurement.day, measurement.part, measurement.input, statistics.iterations,
+                    toMillis(statistics.min), statistics.median / 1_000_000.0, toMillis(statistics.p99),
+                    statistics.mean / 1_000_000.0, statistics.standardDeviation / 1_000_000.0,
+                    measurement.callerAllocatedBytes / 1024.0, measurement.throughput(), measurement.result);
+        }
+    }
+
+    private static void writeCsv(List<Measurement> measurements, Path file) throws IOException {
+        List<String> lines = new ArrayList<>(measurements.size() + 1);
+        lines.add("day,part,input,iterations,min_ns,median_ns,p99_ns,mean_ns,stddev_ns,caller_allocated_bytes_per_op,input_bytes,mb_per_s");
+        for (Measurement measurement : measurements) {
+            Statistics statistics = measurement.statistics;
+            lines.add(String.format(Locale.ROOT, "%s,%d,%s,%d,%d,%.1f,%d,%.1f,%.1f,%d,%d,%.1f", measurement.day, measurement.part,
+                    measurement.input, statistics.iterations, statistics.min, statistics.median, statistics.p99,
+                    statistics.mean, statistics.standardDeviation, measurement.callerAllocatedBytes,
+                    measurement.inputBytes, measurement.throughput()));
+        }
+        Files.write(file, lines);
+    }
+
+    private static void writeJson(List<Measurement> measurements, Path file) throws IOException {
+        String json = measurements.stream()
+                .map(measurement -> {
+                    Statistics statistics = measurement.statistics;
+                    return String.format(Locale.ROOT, "  {\"day\": \"%s\", \"part\": %d, \"input\": \"%s\", \"iterations\": %d, "
+                                    + "\"minNs\": %d, \"medianNs\": %.1f, \"p99Ns\": %d, \"meanNs\": %.1f, \"stdDevNs\": %.1f, "
+                                    + "\"callerAllocatedBytesPerOp\": %d, \"inputBytes\": %d, \"mbPerS\": %.1f}",
+                            measurement.day, measurement.part, measurement.input, statistics.iterations,
+                            statistics.min, statistics.median, statistics.p99,
+                            statistics.mean, statistics.standardDeviation, measurement.callerAllocatedBytes,
+                            measurement.inputBytes, measurement.throughput());
+                })
+                .collect(Collectors.joining(",\n", "[\n", "\n]\n"));
+        Files.writeString(file, json);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private record Measurement(String day, int part, String input, Statistics statistics, long callerAllocatedBytes, long inputBytes, String result) {
+        private double throughput() {
+            return statistics.median == 0 ? 0 : inputBytes / statistics.median * 1_000_000_000 / 1_000_000;
+        }
+    }
+
+    private record Statistics(int iterations, long min, double median, long p99, double mean, double standardDeviation) {
+        private static Statistics of(long[] times) {
+            long[] sorted = times.clone();
+            Arrays.sort(sorted);
+            int n = sorted.length;
+
+            double mean = Arrays.stream(sorted).average().orElse(0);
+            double variance = Arrays.stream(sorted)
+                    .mapToDouble(time -> (time - mean) * (time - mean))
+                    .sum() / n;
+            // With an even number of times, the median is the average of the 2 middle ones.
+            double median = n % 2 == 1 ? sorted[n / 2] : (sorted[n / 2 - 1] + sorted[n / 2]) / 2.0;
+            int p99Index = (int) Math.ceil(n * 0.99) - 1;
+
+            return new Statistics(n, sorted[0], median, sorted[p99Index], mean, Math.sqrt(variance));
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.shnako;
+
+import com.shnako.solutions.SolutionBase;
+import com.shnako.util.InputProcessingUtil;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+Keeps the solutions loaded in a single JVM and answers requests to run them over HTTP on the loopback address,
+so running a part doesn't pay for the JVM start, the class loading and the cold JIT every time.
+Every solution is loaded and both its parts run a number of times on the real input before the server starts.
+
+Parts are run with GET /solve?day=<day>&part=<part>, optionally adding &input=<path> to run on another input file,
+and the response is a JSON object with the result and the time it took.
+Each request runs on its own virtual thread with its own solution instance, so different days run at the same time.
+The input override is shared by all the requests of a day, so the requests of the same day are run one at a time.
+ */
+class SolverServer {
+    private final List<String> days;
+    private final Map<String, ReentrantLock> dayLocks = new ConcurrentHashMap<>();
+
+    private SolverServer(List<String> days) {
+        this.days = days;
+    }
+
+    static void run(int port, int warmupIterations) throws IOException {
+        SolverServer solverServer = new SolverServer(AllDaysRunner.findAllDays());
+        solverServer.warmUp(warmupIterations);
+
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/solve", solverServer::handleSolve);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        System.out.printf("Serving %d days on http://localhost:%d/solve?day=<day>&part=<part>[&input=<path>]%n",
+                solverServer.days.size(), server.getAddress().getPort());
+    }
+
+    private void warmUp(int warmupIterations) {
+        for (String day : days) {
+            System.out.printf("Warming up day %s.%n", day);
+            for (int i = 0; i < warmupIterations; i++) {
+                for (int part = 1; part <= 2; part++) {
+                    try {
+                        runPart(Main.getSolutionInstance(day), part);
+                    } catch (Exception e) {
+                        System.out.printf("Day %s part %d failed during warm-up: %s%n", day, part, e);
+                    }
+                }
+            }
+        }
+    }
+
+    private void handleSolve(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "Only GET is supported.");
+                return;
+            }
+
+            Map<String, String> parameters = parseQuery(exchange.getRequestURI().getRawQuery());
+            String day = parameters.getOrDefault("day", "");
+            String part = parameters.getOrDefault("part", "");
+            String input = parameters.get("input");
+            if (day.length() == 1) {
+                day = "0" + day;
+            }
+            if (!days.contains(day)) {
+                sendError(exchange, 404, "Solution for day " + day + " not found.");
+                return;
+            }
+            if (!"1".equals(part) && !"2".equals(part)) {
+                sendError(exchange, 400, "The part must be 1 or 2.");
+                return;
+            }
+            if (input != null && !Files.isRegularFile(Path.of(input))) {
+                sendError(exchange, 400, "Input file " + input + " not found.");
+                return;
+            }
+
+            try {
+                sendJson(exchange, 200, solve(day, Integer.parseInt(part), input));
+            } catch (Exception e) {
+                sendError(exchange, 500, e.toString());
+            }
+        }
+    }
+
+    private String solve(String day, int part, String input) throws Exception {
+        ReentrantLock dayLock = dayLocks.computeIfAbsent(day, d -> new ReentrantLock());
+        dayLock.lock();
+        try {
+            if (input != null) {
+                InputProcessingUtil.overrideInput(day, Path.of(input));
+            }
+            SolutionBase solution = Main.getSolutionInstance(day);
+
+            long start = System.nanoTime();
+            String result = runPart(solution, part);
+            long time = System.nanoTime() - start;
+
+            return String.format(Locale.ROOT, "{\"day\": \"%s\", \"part\": %d, \"timeNs\": %d, \"timeMs\": %.3f, \"result\": \"%s\"}",
+                    day, part, time, time / 1_000_000.0, escapeJson(result));
+        } finally {
+            if (input != null) {
+                InputProcessingUtil.clearInputOverride(day);
+            }
+            dayLock.unlock();
+        }
+    }
+
+    private static String runPart(SolutionBase solution, int part) throws Exception {
+        return switch (part) {
+            case 1 -> solution.runPart1();
+            case 2 -> solution.runPart2();
+            default -> throw new IllegalStateException("Unexpected part: " + part);
+        };
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> parameters = new HashMap<>();
+        if (query == null) {
+            return parameters;
+        }
+        for (String parameter : query.split("&")) {
+            String[] components = parameter.split("=", 2);
+            String value = components.length > 1 ? URLDecoder.decode(components[1], StandardCharsets.UTF_8) : "";
+            parameters.put(URLDecoder.decode(components[0], StandardCharsets.UTF_8), value);
+        }
+        return parameters;
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        sendJson(exchange, status, "{\"error\": \"" + escapeJson(message) + "\"}");
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = (json + "\n").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(body);
+        }
+    }
+
+    // Control characters can't appear in JSON strings as they are, so those without a short escape get a 4 hex digit unicode escape.
+    private static String escapeJson(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> escaped.append("\\\"");
+                case '\\' -> escaped.append("\\\\");
+                case '\b' -> escaped.append("\\b");
+                case '\f' -> escaped.append("\\f");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                case '\t' -> escaped.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        escaped.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        escaped.append(c);
+                    }
+                }
+            }
+        }
+        return escaped.toString();
+    }
+}
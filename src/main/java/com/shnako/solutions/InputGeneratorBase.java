@@ -0,0 +1,75 @@
+package com.shnako.solutions;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+/*
+Generates synthetic inputs for a day, so the solutions can be run on inputs much larger than the real one.
+The generated inputs follow the same format and structure as the real input, so the solutions work on them,
+and are a given multiple of the size of a real input.
+The same scale and seed always generate the same input.
+ */
+public abstract class InputGeneratorBase {
+    public static final long DEFAULT_SEED = 2023;
+
+    public abstract void generate(int scale, Random random, PrintWriter out);
+
+    protected String getDay() {
+        return StringUtils.substringAfterLast(this.getClass().getPackageName(), ".").substring(3);
+    }
+
+    // Writes the input to the build directory and returns its path.
+    public Path generate(int scale, long seed) throws IOException {
+        Path file = Paths.get("build", "generated-inputs", "day" + getDay(), String.format("input-x%d-seed%d.txt", scale, seed));
+        Files.createDirectories(file.getParent());
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            generate(scale, new Random(seed), out);
+            if (out.checkError()) {
+                throw new IOException("Could not write generated input to " + file);
+            }
+        }
+        return file;
+    }
+
+    public static InputGeneratorBase getInstance(String day) {
+        String generatorClassName = InputGeneratorBase.class.getPackageName() + ".day" + day + ".InputGenerator";
+        try {
+            return (InputGeneratorBase) Class.forName(generatorClassName).getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // Grids are scaled by area, so each side grows with the square root of the scale.
+    protected static int scaleSide(int realSide, int scale) {
+        return (int) Math.round(realSide * Math.sqrt(scale));
+    }
+
+    protected static int randomBetween(Random random, int min, int max) {
+        return min + random.nextInt(max - min + 1);
+    }
+
+    // A unique lowercase name for each index, at least minLength letters long and longer when they run out.
+    protected static String lowercaseName(int index, int minLength) {
+        StringBuilder name = new StringBuilder();
+        int remaining = index;
+        int combinations = (int) Math.pow(26, minLength);
+        int length = minLength;
+        while (remaining >= combinations) {
+            remaining -= combinations;
+            combinations *= 26;
+            length++;
+        }
+        for (int i = 0; i < length; i++) {
+            name.append((char) ('a' + remaining % 26));
+            remaining /= 26;
+        }
+        return name.toString();
+    }
+}
@@ -1,8 +1,23 @@
 package com.shnako.solutions;
 
+import com.shnako.util.InputProcessingUtil;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public abstract class SolutionBase {
+    private static final Map<ParsedInputKey, ParsedInput> PARSED_INPUTS = new ConcurrentHashMap<>();
+    private static final Map<Path, InputFileHash> INPUT_HASHES = new ConcurrentHashMap<>();
+
     public abstract String runPart1() throws Exception;
 
     public abstract String runPart2() throws Exception;
@@ -10,4 +25,64 @@ public abstract class SolutionBase {
     protected String getDay() {
         return StringUtils.substringAfterLast(this.getClass().getPackageName(), ".").substring(3);
     }
+
+    /*
+    Returns the input parsed by the parser, parsing it only the first time it's requested in this JVM.
+    The parsed input is cached by day and parsed input name, along with the hash of the input file contents it was parsed from,
+    so both parts and any repeated runs share it, while a changed or different input file is parsed again.
+    Only the input parsed last is kept for each day and name, so a long-running process doesn't keep every input it has seen.
+    The parsed input is shared, so it must never be modified by the solution.
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> T getParsedInput(String name, InputParser<T> parser) throws IOException {
+        ParsedInputKey key = new ParsedInputKey(getDay(), name);
+        String inputHash = hashInput();
+        ParsedInput parsedInput = PARSED_INPUTS.get(key);
+        if (parsedInput == null || !parsedInput.inputHash.equals(inputHash)) {
+            parsedInput = new ParsedInput(inputHash, parser.parse());
+            PARSED_INPUTS.put(key, parsedInput);
+        }
+        return (T) parsedInput.value;
+    }
+
+    /*
+    The hash is only computed again when the size or modification time of the input file changes.
+    Only the latest version of each file is kept, replacing the hash of the version before it.
+     */
+    private String hashInput() throws IOException {
+        Path inputPath = InputProcessingUtil.getInputPath(getDay()).toAbsolutePath();
+        long size = Files.size(inputPath);
+        FileTime lastModifiedTime = Files.getLastModifiedTime(inputPath);
+        InputFileHash inputFileHash = INPUT_HASHES.get(inputPath);
+        if (inputFileHash != null && inputFileHash.size == size && inputFileHash.lastModifiedTime.equals(lastModifiedTime)) {
+            return inputFileHash.hash;
+        }
+        String hash;
+        try (InputStream inputStream = Files.newInputStream(inputPath)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[65536];
+            for (int read = inputStream.read(buffer); read != -1; read = inputStream.read(buffer)) {
+                digest.update(buffer, 0, read);
+            }
+            hash = HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        INPUT_HASHES.put(inputPath, new InputFileHash(size, lastModifiedTime, hash));
+        return hash;
+    }
+
+    @FunctionalInterface
+    protected interface InputParser<T> {
+        T parse() throws IOException;
+    }
+
+    private record ParsedInputKey(String day, String name) {
+    }
+
+    private record ParsedInput(String inputHash, Object value) {
+    }
+
+    private record InputFileHash(long size, FileTime lastModifiedTime, String hash) {
+    }
 }
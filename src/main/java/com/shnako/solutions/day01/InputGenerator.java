@@ -0,0 +1,35 @@
+package com.shnako.solutions.day01;
+
+import com.shnako.solutions.InputGeneratorBase;
+
+import java.io.PrintWriter;
+import java.util.Random;
+
+/*
+Generates lines of lowercase letters mixed with digits and spelled out digits, with at least one digit on each line.
+A real input has 1000 lines.
+ */
+public class InputGenerator extends InputGeneratorBase {
+    private static final String[] DIGIT_NAMES = {"one", "two", "three", "four", "five", "six", "seven", "eight", "nine"};
+
+    @Override
+    public void generate(int scale, Random random, PrintWriter out) {
+        for (int i = 0; i < 1000 * scale; i++) {
+            StringBuilder line = new StringBuilder();
+            int tokens = randomBetween(random, 2, 7);
+            int digitToken = random.nextInt(tokens);
+            for (int token = 0; token < tokens; token++) {
+                if (token == digitToken || random.nextInt(4) == 0) {
+                    line.append(randomBetween(random, 1, 9));
+                } else if (random.nextInt(3) == 0) {
+                    line.append(DIGIT_NAMES[random.nextInt(DIGIT_NAMES.length)]);
+                } else {
+                    for (int letter = randomBetween(random, 1, 5); letter > 0; letter--) {
+                        line.append((char) ('a' + random.nextInt(26)));
+                    }
+                }
+            }
+            out.println(line);
+        }
+    }
+}
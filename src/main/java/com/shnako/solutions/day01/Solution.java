@@ -1,101 +1,169 @@
 package com.shnako.solutions.day01;
 
 import com.shnako.solutions.SolutionBase;
+import com.shnako.util.ByteLine;
 import com.shnako.util.InputProcessingUtil;
-import org.apache.commons.lang3.tuple.Pair;
+import com.shnako.util.IntQueue;
+import com.shnako.util.MappedInput;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-
-import static java.util.Map.entry;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToIntFunction;
 
 /*
+The input is memory-mapped and split into chunks on line boundaries, which are summed in parallel on the fork-join pool,
+each into its own long partial sum, so the sum can't overflow on very large inputs.
+
 Part 1:
 We simply look for the first and last digit and then combine them to return the result.
 
 Part 2:
-We determine the index of the first and last occurrence of each digit, whether a digit or a string, in each string.
-For the first letter we get the minimum index of the first occurrence and for the second we get the maximum index of the last occurrence.
-Then we map back to actual digits and return the result.
+We need the first and last occurrence of any digit, whether a digit or a string, in each line.
+Rather than searching the line for each of the 18 digits, we compile them into an Aho-Corasick automaton,
+which finds the first of them in a single pass over the line's bytes, straight from the memory-mapped input.
+A second automaton built from the reversed digits finds the last one in a single pass from the end of the line.
  */
 public class Solution extends SolutionBase {
+    // Chunks are processed in parallel, but an input smaller than this isn't worth splitting.
+    private static final int MIN_CHUNK_SIZE = 1 << 20;
+
     @Override
     public String runPart1() throws Exception {
-        List<String> inputLines = InputProcessingUtil.readInputLines(getDay());
-        return ((Integer) inputLines.stream()
-                .map(this::extractCalibrationValue)
-                .mapToInt(Integer::intValue)
-                .sum())
-                .toString();
+        long result = sumCalibrationValues(this::extractCalibrationValue);
+        return String.valueOf(result);
     }
 
-    private int extractCalibrationValue(String line) {
+    private int extractCalibrationValue(ByteLine line) {
         int firstDigit = 0, secondDigit = 0;
         for (int i = 0; i < line.length(); i++) {
-            if (Character.isDigit(line.charAt(i))) {
-                firstDigit = Character.getNumericValue(line.charAt(i));
+            if (isDigit(line.byteAt(i))) {
+                firstDigit = line.byteAt(i) - '0';
                 break;
             }
         }
         for (int i = line.length() - 1; i >= 0; i--) {
-            if (Character.isDigit(line.charAt(i))) {
-                secondDigit = Character.getNumericValue(line.charAt(i));
+            if (isDigit(line.byteAt(i))) {
+                secondDigit = line.byteAt(i) - '0';
                 break;
             }
         }
         return firstDigit * 10 + secondDigit;
     }
 
+    private boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
     @Override
     public String runPart2() throws Exception {
-        List<String> inputLines = InputProcessingUtil.readInputLines(getDay());
-        return ((Integer) inputLines.stream()
-                .map(this::extractComplexCalibrationValue)
-                .mapToInt(Integer::intValue)
-                .sum())
-                .toString();
+        long result = sumCalibrationValues(line -> FORWARD_SCANNER.findFirstDigit(line) * 10 + BACKWARD_SCANNER.findFirstDigit(line));
+        return String.valueOf(result);
+    }
+
+    // Sums the calibration values of each chunk of the input on the common fork-join pool, then adds up the chunk sums.
+    private long sumCalibrationValues(ToIntFunction<ByteLine> calibrationValueExtractor) throws IOException {
+        List<ByteBuffer> chunks = InputProcessingUtil.mapInput(getDay())
+                .split(ForkJoinPool.getCommonPoolParallelism() * 4, MIN_CHUNK_SIZE);
+        return chunks.parallelStream()
+                .mapToLong(chunk -> {
+                    long[] chunkSum = new long[1];
+                    MappedInput.forEachLine(chunk, line -> {
+                        if (!line.isEmpty()) {
+                            chunkSum[0] += calibrationValueExtractor.applyAsInt(line);
+                        }
+                    });
+                    return chunkSum[0];
+                })
+                .sum();
     }
 
     private static final List<String> DIGITS = List.of("1", "2", "3", "4", "5", "6", "7", "8", "9",
             "one", "two", "three", "four", "five", "six", "seven", "eight", "nine");
-    private static final Map<String, Integer> DIGIT_MAP = Map.ofEntries(
-            entry("1", 1),
-            entry("2", 2),
-            entry("3", 3),
-            entry("4", 4),
-            entry("5", 5),
-            entry("6", 6),
-            entry("7", 7),
-            entry("8", 8),
-            entry("9", 9),
-            entry("one", 1),
-            entry("two", 2),
-            entry("three", 3),
-            entry("four", 4),
-            entry("five", 5),
-            entry("six", 6),
-            entry("seven", 7),
-            entry("eight", 8),
-            entry("nine", 9)
-    );
-
-    @SuppressWarnings({"ComparatorMethodParameterNotUsed", "OptionalGetWithoutIsPresent"})
-    private int extractComplexCalibrationValue(String line) {
-        String firstDigitStr = DIGITS.stream()
-                .map(x -> Pair.of(x, line.indexOf(x)))
-                .filter(x -> x.getRight() != -1)
-                .min((a, b) -> a.getRight() < b.getRight() ? -1 : 1)
-                .get()
-                .getLeft();
-        int firstDigit = DIGIT_MAP.get(firstDigitStr);
-        String secondDigitStr = DIGITS.stream()
-                .map(x -> Pair.of(x, line.lastIndexOf(x)))
-                .filter(x -> x.getRight() != -1)
-                .max((a, b) -> a.getRight() < b.getRight() ? -1 : 1)
-                .get()
-                .getLeft();
-        int secondDigit = DIGIT_MAP.get(secondDigitStr);
+    private static final DigitScanner FORWARD_SCANNER = DigitScanner.build(false);
+    private static final DigitScanner BACKWARD_SCANNER = DigitScanner.build(true);
 
-        return firstDigit * 10 + secondDigit;
+    /*
+    An Aho-Corasick automaton over all the digits, compiled into a table with the next state for every state and byte,
+    so finding the first digit takes a single table lookup per byte and never goes back over the line.
+    The backward scanner is built from the reversed digits and reads the line from its end, finding the last digit.
+    No digit contains another one, so the digit that ends first is also the one that starts first.
+     */
+    private static class DigitScanner {
+        private static final int ALPHABET_SIZE = 256;
+
+        private final int[] transitions;
+        private final int[] digits;
+        private final boolean isBackward;
+
+        private DigitScanner(int[] transitions, int[] digits, boolean isBackward) {
+            this.transitions = transitions;
+            this.digits = digits;
+            this.isBackward = isBackward;
+        }
+
+        private static DigitScanner build(boolean isBackward) {
+            int maxStates = 1 + DIGITS.stream().mapToInt(String::length).sum();
+            int[] transitions = new int[maxStates * ALPHABET_SIZE];
+            int[] digits = new int[maxStates];
+            Arrays.fill(transitions, -1);
+
+            int states = 1;
+            for (int i = 0; i < DIGITS.size(); i++) {
+                String digit = isBackward ? new StringBuilder(DIGITS.get(i)).reverse().toString() : DIGITS.get(i);
+                int state = 0;
+                for (int j = 0; j < digit.length(); j++) {
+                    int transition = state * ALPHABET_SIZE + digit.charAt(j);
+                    if (transitions[transition] == -1) {
+                        transitions[transition] = states++;
+                    }
+                    state = transitions[transition];
+                }
+                digits[state] = i % 9 + 1;
+            }
+
+            // Fills in the missing transitions from the failure links, visiting the states in breadth-first order.
+            int[] failureLinks = new int[states];
+            IntQueue queue = new IntQueue();
+            for (int b = 0; b < ALPHABET_SIZE; b++) {
+                if (transitions[b] == -1) {
+                    transitions[b] = 0;
+                } else {
+                    queue.add(transitions[b]);
+                }
+            }
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                if (digits[state] == 0) {
+                    digits[state] = digits[failureLinks[state]];
+                }
+                for (int b = 0; b < ALPHABET_SIZE; b++) {
+                    int transition = state * ALPHABET_SIZE + b;
+                    int failureTransition = transitions[failureLinks[state] * ALPHABET_SIZE + b];
+                    if (transitions[transition] == -1) {
+                        transitions[transition] = failureTransition;
+                    } else {
+                        failureLinks[transitions[transition]] = failureTransition;
+                        queue.add(transitions[transition]);
+                    }
+                }
+            }
+            return new DigitScanner(Arrays.copyOf(transitions, states * ALPHABET_SIZE), Arrays.copyOf(digits, states), isBackward);
+        }
+
+        private int findFirstDigit(ByteLine line) {
+            int state = 0;
+            int length = line.length();
+            for (int i = 0; i < length; i++) {
+                byte b = line.byteAt(isBackward ? length - 1 - i : i);
+                state = transitions[state * ALPHABET_SIZE + (b & 0xFF)];
+                if (digits[state] != 0) {
+                    return digits[state];
+                }
+            }
+            throw new IllegalStateException("No digit found in line " + line);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,34 @@
+package com.shnako.solutions.day02;
+
+import com.shnako.solutions.InputGeneratorBase;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/*
+Generates games with 1 to 6 sets of up to 20 cubes of each colour.
+A real input has 100 games.
+ */
+public class InputGenerator extends InputGeneratorBase {
+    private static final List<String> COLOURS = List.of("red", "green", "blue");
+
+    @Override
+    public void generate(int scale, Random random, PrintWriter out) {
+        for (int game = 1; game <= 100 * scale; game++) {
+            List<String> sets = new ArrayList<>();
+            for (int set = randomBetween(random, 1, 6); set > 0; set--) {
+                List<String> colours = new ArrayList<>(COLOURS);
+                Collections.shuffle(colours, random);
+                List<String> cubes = new ArrayList<>();
+                for (String colour : colours.subList(0, randomBetween(random, 1, colours.size()))) {
+                    cubes.add(randomBetween(random, 1, 20) + " " + colour);
+                }
+                sets.add(String.join(", ", cubes));
+            }
+            out.println("Game " + game + ": " + String.join("; ", sets));
+        }
+    }
+}
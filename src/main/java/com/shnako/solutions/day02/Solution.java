@@ -1,107 +1,256 @@
 package com.shnako.solutions.day02;
 
 import com.shnako.solutions.SolutionBase;
+import com.shnako.util.ByteLine;
 import com.shnako.util.InputProcessingUtil;
 
 import java.io.IOException;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.Arrays;
+import java.util.function.Consumer;
 
 
 /*
 Today's problem is fairly straightforward once the input is parsed.
+Neither part cares about the individual sets, only about the maximum number of cubes of each colour shown in a game.
+We therefore parse each line byte by byte into a single reused Game, keeping only the game ID and those 3 maximums,
+so both parts are a single pass over the input that doesn't create any objects per game.
+The parsed games are deliberately not cached with getParsedInput, as that would mean keeping every game in memory,
+and a pass over the memory-mapped input costs about as much as going through a cached list of games would.
 
 Part 1:
 Filter out all the games that have more cubes of any colour than specified and sum the IDs of the remaining ones.
+To answer this for many bags at once, sumPossibleGameIds keeps the maximums of all the games in a PossibleGamesIndex.
+It sorts the bags and the games by red cubes and sweeps through both, adding each game to a 2D Fenwick tree over
+green and blue cubes once the bag has enough red cubes for it.
+The ID sum for each bag is then the Fenwick tree prefix sum up to its green and blue cubes, in logarithmic time.
 
 Part 2:
-Determine the maximum number of cubes of each colour, in each set, in each game and calculate the value using those.
+Use the maximum number of cubes of each colour in each game to calculate the power of the game and sum them.
  */
 public class Solution extends SolutionBase {
+    private static final int RED = 0, GREEN = 1, BLUE = 2;
+    private static final int[] ACTUAL_CUBES = new int[]{12, 13, 14};
+
     @Override
     public String runPart1() throws IOException {
-        final Map<String, Integer> actualCubes = Map.of("red", 12, "green", 13, "blue", 14);
-
-        List<Game> games = parseInput();
+        long[] result = new long[1];
+        forEachGame(game -> {
+            if (isPossible(game, ACTUAL_CUBES)) {
+                result[0] += game.id;
+            }
+        });
+        return String.valueOf(result[0]);
+    }
 
-        return String.valueOf(getPossibleGamesSum(games, actualCubes));
+    // Colours that never appear in the game are NOT_SHOWN, which is less than any number of cubes in the bag.
+    private boolean isPossible(Game game, int[] bag) {
+        return game.maxCubes[RED] <= bag[RED] && game.maxCubes[GREEN] <= bag[GREEN] && game.maxCubes[BLUE] <= bag[BLUE];
     }
 
-    private int getPossibleGamesSum(List<Game> games, Map<String, Integer> actualCubes) {
-        return games.stream()
-                .filter(game -> isGamePossible(game, actualCubes))
-                .map(Game::gameId)
-                .mapToInt(Integer::intValue)
-                .sum();
+    // Returns the sum of the IDs of the games possible with each bag, given as its red, green and blue cubes.
+    public long[] sumPossibleGameIds(int[][] bags) throws IOException {
+        PossibleGamesIndex index = getParsedInput("possibleGamesIndex", this::buildPossibleGamesIndex);
+        return index.sumPossibleGameIds(bags);
     }
 
-    private boolean isGamePossible(Game game, Map<String, Integer> actualCubes) {
-        for (CubeSet cubeSet : game.cubeSets()) {
-            for (Map.Entry<String, Integer> cubeEntry : cubeSet.cubes().entrySet()) {
-                if (!actualCubes.containsKey(cubeEntry.getKey()) || cubeEntry.getValue() > actualCubes.get(cubeEntry.getKey())) {
-                    return false;
-                }
-            }
-        }
-        return true;
+    private PossibleGamesIndex buildPossibleGamesIndex() throws IOException {
+        PossibleGamesIndex.Builder builder = new PossibleGamesIndex.Builder();
+        forEachGame(builder::addGame);
+        return builder.build();
     }
 
     @Override
     public String runPart2() throws IOException {
-        List<Game> games = parseInput();
+        int[] result = new int[1];
+        forEachGame(game -> result[0] += getGamePower(game));
+        return String.valueOf(result[0]);
+    }
 
-        return String.valueOf(getSumOfPowerOfMinimumSetsOfCubes(games));
+    // Colours that never appear in the game are left out of the power.
+    private int getGamePower(Game game) {
+        int power = 1;
+        for (int colour = RED; colour <= BLUE; colour++) {
+            if (game.maxCubes[colour] != Game.NOT_SHOWN) {
+                power *= game.maxCubes[colour];
+            }
+        }
+        return power;
     }
 
-    private int getSumOfPowerOfMinimumSetsOfCubes(List<Game> games) {
-        return games.stream()
-                .map(this::getGamePower)
-                .mapToInt(Integer::intValue)
-                .sum();
+    private void forEachGame(Consumer<Game> consumer) throws IOException {
+        Game game = new Game();
+        InputProcessingUtil.mapInput(getDay()).forEachLine(line -> {
+            if (!line.isEmpty()) {
+                game.parse(line);
+                consumer.accept(game);
+            }
+        });
     }
 
-    private int getGamePower(Game game) {
-        Map<String, Integer> maxColours = new HashMap<>();
-        for (CubeSet cubeSet : game.cubeSets()) {
-            for (Map.Entry<String, Integer> cubeEntry : cubeSet.cubes().entrySet()) {
-                if (!maxColours.containsKey(cubeEntry.getKey()) || maxColours.get(cubeEntry.getKey()) < cubeEntry.getValue()) {
-                    maxColours.put(cubeEntry.getKey(), cubeEntry.getValue());
+    // A single instance is reused for every line, so it's only valid until the next line is parsed.
+    private static class Game {
+        private static final int NOT_SHOWN = -1;
+        private static final int ID_START = "Game ".length();
+
+        private int id;
+        private final int[] maxCubes = new int[3];
+
+        private void parse(ByteLine line) {
+            int position = ID_START;
+            id = 0;
+            for (byte b = line.byteAt(position); b != ':'; b = line.byteAt(++position)) {
+                id = id * 10 + b - '0';
+            }
+            maxCubes[RED] = maxCubes[GREEN] = maxCubes[BLUE] = NOT_SHOWN;
+
+            // Every cube count is followed by a space and its colour, and the sets don't matter, so ; and , are skipped.
+            int length = line.length();
+            while (++position < length) {
+                byte b = line.byteAt(position);
+                if (b < '0' || b > '9') {
+                    continue;
+                }
+                int count = 0;
+                for (; b != ' '; b = line.byteAt(++position)) {
+                    count = count * 10 + b - '0';
                 }
+                int colour = switch (line.byteAt(++position)) {
+                    case 'r' -> RED;
+                    case 'g' -> GREEN;
+                    case 'b' -> BLUE;
+                    default -> throw new IllegalStateException("Unexpected colour in line " + line);
+                };
+                maxCubes[colour] = Math.max(maxCubes[colour], count);
             }
         }
-        return maxColours.values()
-                .stream()
-                .reduce(1, (subtotal, element) -> subtotal * element);
     }
 
-    private List<Game> parseInput() throws IOException {
-        List<String> inputLines = InputProcessingUtil.readInputLines(getDay());
-        return inputLines.stream()
-                .map(this::parseInputLine)
-                .collect(Collectors.toList());
-    }
+    /*
+    The games are kept sorted by red cubes, in primitive arrays, along with the distinct green and blue cube counts,
+    which are the coordinates of the Fenwick tree.
+    The Fenwick tree is allocated once and cleared for every batch of bags, so batches are run one at a time.
+     */
+    private static class PossibleGamesIndex {
+        private final int[] ids;
+        private final int[] reds;
+        // The Fenwick tree coordinates of each game's green and blue cubes.
+        private final int[] greenCoordinates;
+        private final int[] blueCoordinates;
+        private final int[] greens;
+        private final int[] blues;
+        // The 2D Fenwick tree, flattened into rows of blues.length + 1 sums.
+        private final long[] fenwickTree;
 
-    private Game parseInputLine(String line) {
-        String[] colonSplit = line.split(":");
-        int gameId = Integer.parseInt(colonSplit[0].substring(5));
-        String[] setStrings = colonSplit[1].trim().split(";");
+        private PossibleGamesIndex(int[] ids, int[] reds, int[] greenCubes, int[] blueCubes) {
+            int gameCount = ids.length;
+            this.greens = Arrays.stream(greenCubes).sorted().distinct().toArray();
+            this.blues = Arrays.stream(blueCubes).sorted().distinct().toArray();
+            this.fenwickTree = new long[(greens.length + 1) * (blues.length + 1)];
 
-        List<CubeSet> cubeSets = new ArrayList<>();
-        for (String setString : setStrings) {
-            String[] cubeStrings = setString.trim().split(",");
+            long[] gameOrder = sortIndicesBy(reds);
+            this.ids = new int[gameCount];
+            this.reds = new int[gameCount];
+            this.greenCoordinates = new int[gameCount];
+            this.blueCoordinates = new int[gameCount];
+            for (int i = 0; i < gameCount; i++) {
+                int game = (int) gameOrder[i];
+                this.ids[i] = ids[game];
+                this.reds[i] = reds[game];
+                this.greenCoordinates[i] = Arrays.binarySearch(greens, greenCubes[game]) + 1;
+                this.blueCoordinates[i] = Arrays.binarySearch(blues, blueCubes[game]) + 1;
+            }
+        }
+
+        private synchronized long[] sumPossibleGameIds(int[][] bags) {
+            int[] bagReds = new int[bags.length];
+            for (int i = 0; i < bags.length; i++) {
+                bagReds[i] = bags[i][RED];
+            }
+            long[] bagOrder = sortIndicesBy(bagReds);
 
-            CubeSet cubeSet = new CubeSet(Arrays.stream(cubeStrings)
-                    .map(x -> x.trim().split(" "))
-                    .collect(Collectors.toMap(x -> x[1], x -> Integer.parseInt(x[0]))));
-            cubeSets.add(cubeSet);
+            Arrays.fill(fenwickTree, 0);
+            long[] result = new long[bags.length];
+            int nextGame = 0;
+            for (long bagIndex : bagOrder) {
+                int[] bag = bags[(int) bagIndex];
+                while (nextGame < reds.length && reds[nextGame] <= bag[RED]) {
+                    add(greenCoordinates[nextGame], blueCoordinates[nextGame], ids[nextGame]);
+                    nextGame++;
+                }
+                result[(int) bagIndex] = prefixSum(countAtMost(greens, bag[GREEN]), countAtMost(blues, bag[BLUE]));
+            }
+            return result;
         }
 
-        return new Game(gameId, cubeSets);
-    }
+        /*
+        Returns the indices of the values in ascending order of value.
+        Each value is packed with its index into a long, with the value in the high 32 bits,
+        so a primitive sort of the longs orders the indices, which are then in their low 32 bits.
+         */
+        private static long[] sortIndicesBy(int[] values) {
+            long[] order = new long[values.length];
+            for (int i = 0; i < values.length; i++) {
+                order[i] = ((long) values[i] << 32) | i;
+            }
+            Arrays.sort(order);
+            for (int i = 0; i < order.length; i++) {
+                order[i] &= 0xFFFFFFFFL;
+            }
+            return order;
+        }
 
-    private record Game(Integer gameId, List<CubeSet> cubeSets) {
-    }
+        private void add(int green, int blue, long value) {
+            int rowLength = blues.length + 1;
+            for (int g = green; g <= greens.length; g += g & -g) {
+                for (int b = blue; b <= blues.length; b += b & -b) {
+                    fenwickTree[g * rowLength + b] += value;
+                }
+            }
+        }
+
+        private long prefixSum(int green, int blue) {
+            int rowLength = blues.length + 1;
+            long sum = 0;
+            for (int g = green; g > 0; g -= g & -g) {
+                for (int b = blue; b > 0; b -= b & -b) {
+                    sum += fenwickTree[g * rowLength + b];
+                }
+            }
+            return sum;
+        }
+
+        // The number of the sorted distinct values that are at most the value, which is its Fenwick tree coordinate.
+        private static int countAtMost(int[] sortedValues, int value) {
+            int index = Arrays.binarySearch(sortedValues, value);
+            return index >= 0 ? index + 1 : -index - 1;
+        }
+
+        // Collects the maximums of each game into growing primitive arrays, as the number of games isn't known upfront.
+        private static class Builder {
+            private int[] ids = new int[128];
+            private int[] reds = new int[128];
+            private int[] greens = new int[128];
+            private int[] blues = new int[128];
+            private int gameCount;
 
-    private record CubeSet(Map<String, Integer> cubes) {
+            private void addGame(Game game) {
+                if (gameCount == ids.length) {
+                    ids = Arrays.copyOf(ids, gameCount * 2);
+                    reds = Arrays.copyOf(reds, gameCount * 2);
+                    greens = Arrays.copyOf(greens, gameCount * 2);
+                    blues = Arrays.copyOf(blues, gameCount * 2);
+                }
+                ids[gameCount] = game.id;
+                reds[gameCount] = game.maxCubes[RED];
+                greens[gameCount] = game.maxCubes[GREEN];
+                blues[gameCount] = game.maxCubes[BLUE];
+                gameCount++;
+            }
+
+            private PossibleGamesIndex build() {
+                return new PossibleGamesIndex(Arrays.copyOf(ids, gameCount), Arrays.copyOf(reds, gameCount),
+                        Arrays.copyOf(greens, gameCount), Arrays.copyOf(blues, gameCount));
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,38 @@
+package com.shnako.solutions.day03;
+
+import com.shnako.solutions.InputGeneratorBase;
+
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Random;
+
+/*
+Generates a square schematic of numbers of up to 3 digits and symbols, with the numbers separated by at least one cell.
+A real input is 140 by 140.
+ */
+public class InputGenerator extends InputGeneratorBase {
+    private static final String SYMBOLS = "*#+$/@%=&-";
+
+    @Override
+    public void generate(int scale, Random random, PrintWriter out) {
+        int side = scaleSide(140, scale);
+        char[] row = new char[side];
+        for (int r = 0; r < side; r++) {
+            Arrays.fill(row, '.');
+            for (int c = 0; c < side; c++) {
+                int roll = random.nextInt(100);
+                if (roll < 12) {
+                    String number = String.valueOf(randomBetween(random, 1, 999));
+                    if (c + number.length() <= side) {
+                        number.getChars(0, number.length(), row, c);
+                        // Leaves at least one cell after the number, so it doesn't merge with the next one.
+                        c += number.length();
+                    }
+                } else if (roll < 17) {
+                    row[c] = SYMBOLS.charAt(random.nextInt(SYMBOLS.length()));
+                }
+            }
+            out.println(row);
+        }
+    }
+}
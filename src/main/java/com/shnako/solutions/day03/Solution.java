@@ -1,108 +1,179 @@
 package com.shnako.solutions.day03;
 
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Multimap;
 import com.shnako.solutions.SolutionBase;
+import com.shnako.util.ByteLine;
 import com.shnako.util.InputProcessingUtil;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.Arrays;
 
 /*
-We first extract all the symbols (as SchematicSymbol objects) and all the numbers (as SchematicNumber objects).
-We store the coordinates for each symbol,
-whereas for numbers we store the row coordinate as well as column coordinates for the start and end of the number.
-We use these coordinates to determine adjacency.
+We stream the schematic one row at a time from the memory-mapped input, keeping only a rolling window of 3 rows,
+so the schematic never has to fit into memory.
+As each row is read, we find all the numbers in it, numbering them within the row,
+and build a label row where every cell of a number holds that number's id.
+A symbol can only be adjacent to numbers in its own row and the rows right above and below it,
+so once a row has been read, every symbol in the row before it is checked against the 3 label rows around it,
+looking only at the symbol's 8 neighbours rather than comparing every symbol to every number.
+The last row's symbols are checked once the input ends, with an empty row below them.
 
 Part 1:
-For each symbol we find all the numbers adjacent to it. We then sum up all the numbers that are adjacent to a symbol.
+For each symbol we find all the numbers adjacent to it.
+We then sum up all the numbers that are adjacent to a symbol, making sure each number is only counted once.
 
 Part 2:
-For each * symbol we find all the numbers adjacent to it.
+For each * symbol we find all the distinct numbers adjacent to it.
 We then keep only the ones that have 2 adjacent numbers, multiply each symbol's numbers and sum them all up.
  */
 public class Solution extends SolutionBase {
     @Override
     public String runPart1() throws IOException {
-        final List<String> schematic = InputProcessingUtil.readInputLines(getDay());
-        final List<SchematicSymbol> symbols = findSchematicSymbols(schematic);
-        final List<SchematicNumber> numbers = findSchematicNumbers(schematic);
-        int result = new HashSet<>(mapNumbersAdjacentToSymbols(symbols, numbers).values())
-                .stream()
-                .mapToInt(SchematicNumber::value)
-                .sum();
+        long result = scanSchematic().partNumberSum;
         return String.valueOf(result);
     }
 
     @Override
     public String runPart2() throws IOException {
-        final List<String> schematic = InputProcessingUtil.readInputLines(getDay());
-        final List<SchematicSymbol> symbols = findSchematicSymbols(schematic).stream()
-                .filter(s -> s.symbol == '*')
-                .collect(Collectors.toList());
-        final List<SchematicNumber> numbers = findSchematicNumbers(schematic);
-        final Multimap<SchematicSymbol, SchematicNumber> gears = mapNumbersAdjacentToSymbols(symbols, numbers);
-        int result = gears.keySet()
-                .stream()
-                .filter(symbol -> gears.get(symbol).size() == 2)
-                .map(symbol -> new ArrayList<>(gears.get(symbol)))
-                .mapToInt(values -> values.get(0).value * values.get(1).value)
-                .sum();
+        long result = scanSchematic().gearRatioSum;
         return String.valueOf(result);
     }
 
-    private List<SchematicSymbol> findSchematicSymbols(List<String> schematic) {
-        List<SchematicSymbol> symbolCoordinates = new ArrayList<>();
-        for (int i = 0; i < schematic.size(); i++) {
-            for (int j = 0; j < schematic.get(i).length(); j++) {
-                char symbol = schematic.get(i).charAt(j);
-                if (symbol != '.' && !Character.isDigit(symbol)) {
-                    symbolCoordinates.add(new SchematicSymbol(symbol, i, j));
+    private SchematicWindow scanSchematic() throws IOException {
+        SchematicWindow window = new SchematicWindow();
+        InputProcessingUtil.mapInput(getDay()).forEachLine(line -> {
+            if (!line.isEmpty()) {
+                window.addRow(line);
+            }
+        });
+        window.finish();
+        return window;
+    }
+
+    /*
+    The 3 most recently read rows, each with its label row, the values of its numbers and whether they've been counted.
+    Row r is kept in slot r % 3, so reading a row replaces the one 3 rows above it, which is no longer needed.
+    Every row is padded with an empty cell on both sides, so the neighbours of every cell are always in the row.
+     */
+    private static class SchematicWindow {
+        private static final int NO_NUMBER = -1;
+        private static final int WINDOW_SIZE = 3;
+
+        private int width = -1;
+        private int rowCount;
+        private byte[][] rows;
+        private int[][] labels;
+        private int[][] numberValues;
+        private boolean[][] isCounted;
+        private int[] emptyLabels;
+
+        // The row and id of each distinct number adjacent to the symbol being checked.
+        private final int[] adjacentRows = new int[8];
+        private final int[] adjacentNumbers = new int[8];
+
+        private long partNumberSum;
+        private long gearRatioSum;
+
+        private void addRow(ByteLine line) {
+            if (width == -1) {
+                allocate(line.length());
+            } else if (line.length() != width) {
+                throw new IllegalStateException("The schematic is not a rectangular grid.");
+            }
+
+            int slot = rowCount % WINDOW_SIZE;
+            byte[] row = rows[slot];
+            int[] rowLabels = labels[slot];
+            line.copyTo(row, 1);
+            Arrays.fill(rowLabels, NO_NUMBER);
+            int numberCount = 0;
+            for (int col = 1; col <= width; col++) {
+                if (isDigit(row[col])) {
+                    int number = 0;
+                    for (; isDigit(row[col]); col++) {
+                        number = number * 10 + row[col] - '0';
+                        rowLabels[col] = numberCount;
+                    }
+                    numberValues[slot][numberCount] = number;
+                    isCounted[slot][numberCount] = false;
+                    numberCount++;
                 }
             }
+            rowCount++;
+
+            if (rowCount >= 2) {
+                checkSymbols(rowCount - 2);
+            }
         }
-        return symbolCoordinates;
-    }
 
-    private List<SchematicNumber> findSchematicNumbers(List<String> schematic) {
-        List<SchematicNumber> result = new ArrayList<>();
-        Pattern numberPattern = Pattern.compile("\\d+");
-        for (int i = 0; i < schematic.size(); i++) {
-            Matcher match = numberPattern.matcher(schematic.get(i));
-            while (match.find()) {
-                result.add(new SchematicNumber(Integer.parseInt(match.group()), i, match.start(), match.end() - 1));
+        private void finish() {
+            if (rowCount >= 1) {
+                checkSymbols(rowCount - 1);
             }
         }
-        return result;
-    }
 
-    private Multimap<SchematicSymbol, SchematicNumber> mapNumbersAdjacentToSymbols(List<SchematicSymbol> symbols, List<SchematicNumber> numbers) {
-        Multimap<SchematicSymbol, SchematicNumber> result = HashMultimap.create();
-        for (SchematicSymbol symbol : symbols) {
-            for (SchematicNumber number : numbers) {
-                if (isNumberAdjacentToSymbol(number, symbol)) {
-                    result.put(symbol, number);
+        private void allocate(int width) {
+            this.width = width;
+            rows = new byte[WINDOW_SIZE][width + 2];
+            labels = new int[WINDOW_SIZE][width + 2];
+            numberValues = new int[WINDOW_SIZE][width / 2 + 1];
+            isCounted = new boolean[WINDOW_SIZE][width / 2 + 1];
+            emptyLabels = new int[width + 2];
+            Arrays.fill(emptyLabels, NO_NUMBER);
+            for (byte[] row : rows) {
+                row[0] = row[width + 1] = '.';
+            }
+        }
+
+        private void checkSymbols(int row) {
+            byte[] symbols = rows[row % WINDOW_SIZE];
+            for (int col = 1; col <= width; col++) {
+                byte symbol = symbols[col];
+                if (symbol == '.' || isDigit(symbol)) {
+                    continue;
+                }
+
+                int adjacentNumberCount = 0;
+                for (int adjacentRow = row - 1; adjacentRow <= row + 1; adjacentRow++) {
+                    int[] rowLabels = getLabels(adjacentRow);
+                    for (int adjacentCol = col - 1; adjacentCol <= col + 1; adjacentCol++) {
+                        int number = rowLabels[adjacentCol];
+                        if (number != NO_NUMBER && !isAdjacentNumberFound(adjacentRow, number, adjacentNumberCount)) {
+                            adjacentRows[adjacentNumberCount] = adjacentRow;
+                            adjacentNumbers[adjacentNumberCount++] = number;
+                        }
+                    }
+                }
+
+                for (int i = 0; i < adjacentNumberCount; i++) {
+                    int slot = adjacentRows[i] % WINDOW_SIZE;
+                    if (!isCounted[slot][adjacentNumbers[i]]) {
+                        isCounted[slot][adjacentNumbers[i]] = true;
+                        partNumberSum += numberValues[slot][adjacentNumbers[i]];
+                    }
+                }
+                if (symbol == '*' && adjacentNumberCount == 2) {
+                    gearRatioSum += (long) numberValues[adjacentRows[0] % WINDOW_SIZE][adjacentNumbers[0]]
+                            * numberValues[adjacentRows[1] % WINDOW_SIZE][adjacentNumbers[1]];
                 }
             }
         }
-        return result;
-    }
 
-    private boolean isNumberAdjacentToSymbol(SchematicNumber number, SchematicSymbol symbol) {
-        if (Math.abs(number.x - symbol.x) > 1) {
-            return false;
+        // The rows before the first one and after the last one have no numbers.
+        private int[] getLabels(int row) {
+            return row < 0 || row >= rowCount ? emptyLabels : labels[row % WINDOW_SIZE];
         }
-        return symbol.y >= number.yStart - 1 && symbol.y <= number.yEnd + 1;
-    }
 
-    private record SchematicSymbol(char symbol, int x, int y) {
-    }
+        private boolean isAdjacentNumberFound(int row, int number, int adjacentNumberCount) {
+            for (int i = 0; i < adjacentNumberCount; i++) {
+                if (adjacentRows[i] == row && adjacentNumbers[i] == number) {
+                    return true;
+                }
+            }
+            return false;
+        }
 
-    private record SchematicNumber(int value, int x, int yStart, int yEnd) {
+        private static boolean isDigit(byte value) {
+            return value >= '0' && value <= '9';
+        }
     }
-}
\ No newline at end of file
+}
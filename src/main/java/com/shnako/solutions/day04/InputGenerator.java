@@ -0,0 +1,47 @@
+package com.shnako.solutions.day04;
+
+import com.shnako.solutions.InputGeneratorBase;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/*
+Generates cards with 10 winning numbers and 25 numbers, all between 1 and 99.
+Most cards have no matches and the rest have a few, so the number of copies in part 2 stays reasonable,
+and no card has more matches than there are cards after it.
+A real input has about 200 cards.
+ */
+public class InputGenerator extends InputGeneratorBase {
+    @Override
+    public void generate(int scale, Random random, PrintWriter out) {
+        int cards = 200 * scale;
+        int idWidth = String.valueOf(cards).length();
+        List<Integer> numbers = new ArrayList<>();
+        for (int number = 1; number <= 99; number++) {
+            numbers.add(number);
+        }
+
+        for (int card = 1; card <= cards; card++) {
+            int matches = random.nextInt(10) < 7 ? 0 : randomBetween(random, 1, 5);
+            matches = Math.min(matches, cards - card);
+
+            Collections.shuffle(numbers, random);
+            List<Integer> winningNumbers = numbers.subList(0, 10);
+            List<Integer> cardNumbers = new ArrayList<>(winningNumbers.subList(0, matches));
+            cardNumbers.addAll(numbers.subList(10, 10 + 25 - matches));
+            Collections.shuffle(cardNumbers, random);
+
+            out.printf("Card %" + idWidth + "d: %s | %s%n", card, formatNumbers(winningNumbers), formatNumbers(cardNumbers));
+        }
+    }
+
+    private String formatNumbers(List<Integer> numbers) {
+        return numbers.stream()
+                .map(number -> String.format("%2d", number))
+                .collect(Collectors.joining(" "));
+    }
+}
@@ -1,84 +1,128 @@
 package com.shnako.solutions.day04;
 
 import com.shnako.solutions.SolutionBase;
+import com.shnako.util.ByteLine;
 import com.shnako.util.InputProcessingUtil;
-import org.apache.commons.lang3.StringUtils;
 
 import java.io.IOException;
-import java.util.*;
-import java.util.stream.Collectors;
 
 /*
-We parse the input into Card records containing the id, set of winning numbers and set of card numbers.
-We then do a set intersection between the winning numbers and the card numbers to find the matches,
-and store them in the card's winning numbers.
+We parse each card straight from the bytes of the input into its id and 2 bitmasks of 128 bits,
+one for the winning numbers and one for the card numbers, each stored as 2 longs, as all the numbers are below 128.
+The matches are then the bits set in both bitmasks, which we count with Long.bitCount.
+The cards are processed as they're read, so only the current card is kept in memory.
 
 Part 1:
 For each card we calculate the points as being 2 ^ (matchCount - 1). The result is the sum of these points.
 
 Part 2:
-We go through the list of cards and build a map of how many copies of each card we have according to the rules.
+Each card adds its number of copies to the copies won of the next matchCount cards, which is a range update.
+We therefore keep a difference array of the changes in the copies won from one card to the next,
+adding the card's copies where its range starts and subtracting them after it ends,
+so the running sum of the changes is the number of copies won of the current card.
+A range never goes further than the maximum number of matches past the current card,
+so the difference array is a ring buffer of that size, which lets it work on any number of cards.
 The result is the total number of card copies.
  */
 public class Solution extends SolutionBase {
+    // A card can't have more matches than there are bits in its bitmasks.
+    private static final int MAX_MATCHES = 128;
+    // The most matches whose points, 2 ^ (matchCount - 1), fit into a long. The shift would silently wrap past this.
+    private static final int MAX_POINTS_MATCHES = Long.SIZE - 1;
+
     @Override
     public String runPart1() throws IOException {
-        List<Card> cards = parseInput();
-        cards.forEach(card -> card.winningNumbers.retainAll(card.cardNumbers));
-
-        long result = cards.stream()
-                .map(card -> card.winningNumbers.size())
-                .filter(matchCount -> matchCount > 0)
-                .mapToLong(matchCount -> Math.round(Math.pow(2, matchCount - 1)))
-                .sum();
-        return String.valueOf(result);
+        long[] result = new long[1];
+        forEachCard((id, matchCount) -> {
+            if (matchCount > MAX_POINTS_MATCHES) {
+                throw new IllegalStateException("Card " + id + " has " + matchCount + " matches, so its points don't fit into a long.");
+            }
+            if (matchCount > 0) {
+                result[0] = Math.addExact(result[0], 1L << (matchCount - 1));
+            }
+        });
+        return String.valueOf(result[0]);
     }
 
     @Override
     public String runPart2() throws IOException {
-        List<Card> cards = parseInput();
-        cards.forEach(card -> card.winningNumbers.retainAll(card.cardNumbers));
+        CardCopyCounter cardCopyCounter = new CardCopyCounter();
+        forEachCard((id, matchCount) -> cardCopyCounter.addCard(matchCount));
+        return String.valueOf(cardCopyCounter.totalCopies);
+    }
 
-        Map<Integer, Integer> cardCopies = new HashMap<>();
-        for (Card card : cards) {
-            cardCopies.put(card.id, cardCopies.containsKey(card.id) ? cardCopies.get(card.id) + 1 : 1);
-            int currentCardCopies = cardCopies.get(card.id);
-            int matchCount = card.winningNumbers.size();
-            for (int i = 1; i <= matchCount; i++) {
-                cardCopies.put(card.id + i, cardCopies.containsKey(card.id + i)
-                        ? cardCopies.get(card.id + i) + currentCardCopies : currentCardCopies);
+    private void forEachCard(CardConsumer consumer) throws IOException {
+        InputProcessingUtil.mapInput(getDay()).forEachLine(line -> {
+            if (!line.isEmpty()) {
+                parseCard(line, consumer);
             }
+        });
+    }
+
+    private void parseCard(ByteLine line, CardConsumer consumer) {
+        int position = "Card".length();
+        while (line.byteAt(position) == ' ') {
+            position++;
+        }
+        int id = 0;
+        for (byte b = line.byteAt(position); b != ':'; b = line.byteAt(++position)) {
+            id = id * 10 + b - '0';
         }
 
-        int result = cardCopies.values()
-                .stream()
-                .mapToInt(x -> x)
-                .sum();
-        return String.valueOf(result);
-    }
+        // The low bitmasks hold the numbers from 0 to 63 and the high ones the numbers from 64 to 127.
+        long winningLow = 0, winningHigh = 0, cardLow = 0, cardHigh = 0;
+        boolean isCardNumber = false;
+        int length = line.length();
+        while (++position < length) {
+            byte b = line.byteAt(position);
+            if (b == '|') {
+                isCardNumber = true;
+            } else if (b >= '0' && b <= '9') {
+                int number = 0;
+                for (; position < length && line.byteAt(position) != ' '; position++) {
+                    number = number * 10 + line.byteAt(position) - '0';
+                }
+                if (number >= 128) {
+                    throw new IllegalStateException("Card number " + number + " does not fit in the bitmask.");
+                }
+                long bit = 1L << number;
+                if (isCardNumber) {
+                    cardLow |= number < 64 ? bit : 0;
+                    cardHigh |= number < 64 ? 0 : bit;
+                } else {
+                    winningLow |= number < 64 ? bit : 0;
+                    winningHigh |= number < 64 ? 0 : bit;
+                }
+            }
+        }
 
-    private List<Card> parseInput() throws IOException {
-        return InputProcessingUtil.readInputLines(getDay())
-                .stream()
-                .map(this::parseInputLine)
-                .toList();
+        int matchCount = Long.bitCount(winningLow & cardLow) + Long.bitCount(winningHigh & cardHigh);
+        consumer.accept(id, matchCount);
     }
 
-    private Card parseInputLine(String line) {
-        String[] colonSplit = line.split(":");
-        int cardId = Integer.parseInt(colonSplit[0].substring(4).trim());
-        String[] pipeSplit = colonSplit[1].split("\\|");
-        Set<Integer> winningNumbers = Arrays.stream(pipeSplit[0].trim().split(" "))
-                .filter(StringUtils::isNotBlank)
-                .map(Integer::parseInt)
-                .collect(Collectors.toSet());
-        Set<Integer> cardNumbers = Arrays.stream(pipeSplit[1].trim().split(" "))
-                .filter(StringUtils::isNotBlank)
-                .map(Integer::parseInt)
-                .collect(Collectors.toSet());
-        return new Card(cardId, winningNumbers, cardNumbers);
+    @FunctionalInterface
+    private interface CardConsumer {
+        void accept(int id, int matchCount);
     }
 
-    private record Card(int id, Set<Integer> winningNumbers, Set<Integer> cardNumbers) {
+    private static class CardCopyCounter {
+        private final long[] copyChanges = new long[MAX_MATCHES + 2];
+        private int card;
+        private long wonCopies;
+        private long totalCopies;
+
+        private void addCard(int matchCount) {
+            int slot = card % copyChanges.length;
+            wonCopies += copyChanges[slot];
+            copyChanges[slot] = 0;
+
+            long cardCopies = wonCopies + 1;
+            totalCopies += cardCopies;
+            if (matchCount > 0) {
+                copyChanges[(card + 1) % copyChanges.length] += cardCopies;
+                copyChanges[(card + matchCount + 1) % copyChanges.length] -= cardCopies;
+            }
+            card++;
+        }
     }
-}
\ No newline at end of file
+}
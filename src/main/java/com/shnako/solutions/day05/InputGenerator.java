@@ -0,0 +1,52 @@
+package com.shnako.solutions.day05;
+
+import com.shnako.solutions.InputGeneratorBase;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+/*
+Generates seed ranges and the 7 maps, each with non-overlapping source ranges within the 32-bit unsigned range.
+A real input has 10 seed ranges and between 20 and 45 ranges in each map.
+ */
+public class InputGenerator extends InputGeneratorBase {
+    private static final long MAX_NUMBER = 1L << 32;
+    private static final List<String> MAP_NAMES = List.of("seed-to-soil", "soil-to-fertilizer", "fertilizer-to-water",
+            "water-to-light", "light-to-temperature", "temperature-to-humidity", "humidity-to-location");
+
+    @Override
+    public void generate(int scale, Random random, PrintWriter out) {
+        List<String> seeds = new ArrayList<>();
+        for (int i = 0; i < 10 * scale; i++) {
+            long length = randomNumber(random, 1_000_000, 500_000_000);
+            seeds.add(randomNumber(random, 0, MAX_NUMBER - length) + " " + length);
+        }
+        out.println("seeds: " + String.join(" ", seeds));
+
+        for (String mapName : MAP_NAMES) {
+            out.println();
+            out.println(mapName + " map:");
+            int ranges = randomBetween(random, 20, 45) * scale;
+
+            // Every pair of consecutive cut points is a source range, so they never overlap.
+            TreeSet<Long> cutPoints = new TreeSet<>();
+            while (cutPoints.size() < ranges * 2) {
+                cutPoints.add(randomNumber(random, 0, MAX_NUMBER));
+            }
+            List<Long> sortedCutPoints = new ArrayList<>(cutPoints);
+            for (int i = 0; i < ranges * 2; i += 2) {
+                long source = sortedCutPoints.get(i);
+                long length = sortedCutPoints.get(i + 1) - source;
+                long destination = randomNumber(random, 0, MAX_NUMBER - length);
+                out.println(destination + " " + source + " " + length);
+            }
+        }
+    }
+
+    private long randomNumber(Random random, long from, long to) {
+        return from + (long) (random.nextDouble() * (to - from));
+    }
+}
@@ -8,72 +8,101 @@ import java.io.IOException;
 import java.util.*;
 
 /*
-We read everything into an Almanac containing a list of seeds and a list of maps.
-Every AlmanacMap contains a list of ranges sorted by the source start number.
+We read the seeds and a list of maps from the input.
+Every AlmanacMap contains sorted arrays of its ranges, with the gaps between them filled in,
+so the range containing any number is found with a binary search.
+
+We then compose all the maps into a single seed to location map, going through the maps in order
+and slicing each range of the map so far into the ranges of the next map it falls into.
+The Almanac stores the seeds together with this map.
+This means every seed is mapped to its location with a single binary search, rather than one per map,
+which is worth it when there are many seeds to look up.
+
+There are also branch-free kernels, which don't search for the range of a seed at all.
+The offset of a seed is the sum of the changes in offset at the start of each range, over the ranges starting at or before it.
+Going through all the ranges for every seed does more work than a binary search,
+but there are no mispredicted branches and the same operations are done for every seed,
+so the vector kernel maps as many seeds at once as fit in a SIMD register using the incubating Vector API.
+That only pays off while the seed to location map has few ranges, as the work per seed grows with the number of ranges,
+so the vector kernel is only used up to MAX_VECTOR_KERNEL_RANGES ranges, and the binary search otherwise.
+The Vector API is only available when the JVM is started with --add-modules jdk.incubator.vector,
+so the vector kernel is kept in its own source set and the binary search is used whenever the module is missing.
+The scalar kernel maps the seeds one at a time, which is barely faster than the binary search even with few ranges,
+so it's never picked by default.
 
 Part 1:
-We determine the location for each seed by mapping from source to destination through the maps.
+We determine the location for each seed using the seed to location map.
 The result is the minimum of all seed locations.
 
 Part 2:
 This was much harder than I would expect for day 5. The number of seeds is far too big to run like part 1.
-The strategy here is to end up with a map of seed to location ranges.
-For each range in the seeds we recursively go through all the maps, slicing ranges as required.
-Once we are on the last map, we add the range mappings to seedToLocationRanges.
-The result is the minimum starting destination of all these ranges.
+Within each range of the seed to location map, the locations increase with the seeds,
+so the minimum location of a seed range in each map range it overlaps is the location of the first seed in it.
+The result is the minimum of these locations, over all the map ranges overlapping all the seed ranges.
  */
 public class Solution extends SolutionBase {
-    private final List<Range> seedToLocationRanges = new ArrayList<>();
+    /*
+    Measured with SeedLocationBenchmark on 10^6 seeds, on a single AVX-512 core:
+    with the real input's 256 ranges, the vector kernel took 29 ms against 81 ms for the binary search,
+    while with the 5072 ranges of a 10 times larger input it took several seconds against 136 ms.
+    The vector kernel's time grows linearly with the number of ranges, so it stops paying off at around 3 times the real input.
+     */
+    private static final int MAX_VECTOR_KERNEL_RANGES = 512;
 
     @Override
-    @SuppressWarnings("OptionalGetWithoutIsPresent")
     public String runPart1() throws IOException {
-        Almanac almanac = parseInput();
-        long result = almanac.seeds
-                .stream()
-                .mapToLong(almanac::findSeedLocation)
-                .min()
-                .getAsLong();
+        Almanac almanac = getParsedInput("almanac", this::parseInput);
+        long result = findMinimumLocation(almanac.seeds);
         return String.valueOf(result);
     }
 
     @Override
-    @SuppressWarnings("OptionalGetWithoutIsPresent")
     public String runPart2() throws IOException {
-        Almanac almanac = parseInput();
-        for (int i = 0; i < almanac.seeds.size(); i += 2) {
-            buildRanges(almanac, 0, almanac.seeds.get(i), almanac.seeds.get(i + 1), almanac.seeds.get(i));
-        }
-        long result = seedToLocationRanges
-                .stream()
-                .mapToLong(x -> x.destinationStart)
-                .min()
-                .getAsLong();
+        Almanac almanac = getParsedInput("almanac", this::parseInput);
+        long result = findMinimumLocationOfRanges(almanac.seeds);
         return String.valueOf(result);
     }
 
-    private void buildRanges(Almanac almanac, int mapIndex, long sourceStart, long length, long seedSourceStart) {
-        List<Range> rangesOnMap = almanac.almanacMaps.get(mapIndex).findDestinationRangesMatchingSourceRange(sourceStart, length);
+    // Returns the minimum location of any of the seeds, using the fastest available kernel for the almanac.
+    public long findMinimumLocation(long[] seeds) throws IOException {
+        AlmanacMap seedToLocation = getParsedInput("almanac", this::parseInput).seedToLocation;
+        boolean isVectorKernelFaster = seedToLocation.starts.length <= MAX_VECTOR_KERNEL_RANGES;
+        SeedLocationKernel kernel = isVectorKernelFaster && SeedLocationKernel.VECTOR.isAvailable()
+                ? SeedLocationKernel.VECTOR
+                : SeedLocationKernel.BINARY_SEARCH;
+        return findMinimumLocation(seeds, kernel);
+    }
 
-        if (mapIndex == almanac.almanacMaps.size() - 1) {
-            for (Range range : rangesOnMap) {
-                seedToLocationRanges.add(new Range(range.destinationStart, seedSourceStart, length));
-                seedSourceStart += range.length;
-            }
-        } else {
-            for (Range range : rangesOnMap) {
-                buildRanges(almanac, mapIndex + 1, range.destinationStart, range.length, seedSourceStart);
-                seedSourceStart += range.length;
+    public long findMinimumLocation(long[] seeds, SeedLocationKernel kernel) throws IOException {
+        AlmanacMap seedToLocation = getParsedInput("almanac", this::parseInput).seedToLocation;
+        return switch (kernel) {
+            case BINARY_SEARCH -> seedToLocation.getMinimumDestination(seeds);
+            case SCALAR -> seedToLocation.getMinimumDestinationBranchFree(seeds);
+            case VECTOR -> {
+                if (!SeedLocationKernel.VECTOR.isAvailable()) {
+                    throw new IllegalStateException("The vector kernel needs the JVM to be started with --add-modules jdk.incubator.vector.");
+                }
+                yield SeedLocationVectorKernel.getMinimumDestination(seedToLocation.starts, seedToLocation.offsetChanges, seeds);
             }
+        };
+    }
+
+    // Returns the minimum location of any seed in the ranges, given as pairs of range start and range length.
+    public long findMinimumLocationOfRanges(long[] seedRanges) throws IOException {
+        AlmanacMap seedToLocation = getParsedInput("almanac", this::parseInput).seedToLocation;
+        long minimumLocation = Long.MAX_VALUE;
+        for (int i = 0; i < seedRanges.length; i += 2) {
+            minimumLocation = Math.min(minimumLocation, seedToLocation.getMinimumDestination(seedRanges[i], seedRanges[i + 1]));
         }
+        return minimumLocation;
     }
 
     private Almanac parseInput() throws IOException {
         List<String> input = InputProcessingUtil.readInputLines(getDay());
 
-        List<Long> seeds = Arrays.stream(input.get(0).substring(7).split(" "))
-                .map(Long::parseLong)
-                .toList();
+        long[] seeds = Arrays.stream(input.get(0).substring(7).split(" "))
+                .mapToLong(Long::parseLong)
+                .toArray();
 
         List<AlmanacMap> almanacMaps = new ArrayList<>(7);
         AlmanacMap almanacMap = null;
@@ -93,80 +122,154 @@ public class Solution extends SolutionBase {
             Range range = new Range(rangeNumbers.get(0), rangeNumbers.get(1), rangeNumbers.get(2));
             Objects.requireNonNull(almanacMap).addRange(range);
         }
-        return new Almanac(seeds, almanacMaps);
+        almanacMaps.forEach(AlmanacMap::build);
+        AlmanacMap seedToLocation = almanacMaps.stream()
+                .reduce(AlmanacMap::andThen)
+                .orElseThrow();
+        return new Almanac(seeds, seedToLocation);
     }
 
-    private record Almanac(List<Long> seeds, List<AlmanacMap> almanacMaps) {
-        private long findSeedLocation(long seed) {
-            long currentNumber = seed;
-            for (AlmanacMap almanacMap : almanacMaps) {
-                currentNumber = almanacMap.getDestination(currentNumber);
-            }
-            return currentNumber;
+    private record Almanac(long[] seeds, AlmanacMap seedToLocation) {
+    }
+
+    public enum SeedLocationKernel {
+        BINARY_SEARCH, SCALAR, VECTOR;
+
+        private static final boolean IS_VECTOR_API_AVAILABLE = ModuleLayer.boot()
+                .findModule("jdk.incubator.vector")
+                .isPresent();
+
+        public boolean isAvailable() {
+            return this != VECTOR || IS_VECTOR_API_AVAILABLE;
         }
     }
 
+    /*
+    The ranges of a map are kept as sorted primitive arrays, with the gaps between them filled in with ranges
+    that map every number to itself, so the ranges cover all the numbers from 0 upwards without any gaps.
+    Range i covers the numbers from starts[i] up to, but not including, ends[i],
+    and maps them to their destination by adding offsets[i].
+    The range containing a number is then found with a binary search over the starts.
+    offsetChanges[i] is the difference between offsets[i] and the offset of the previous range,
+    so the offset of a number is also the sum of offsetChanges over all the ranges starting at or before it.
+     */
     private static class AlmanacMap {
         private final List<Range> ranges = new ArrayList<>();
+        private long[] starts;
+        private long[] ends;
+        private long[] offsets;
+        private long[] offsetChanges;
 
         private void addRange(Range range) {
             ranges.add(range);
-            ranges.sort(Comparator.comparing(a -> a.sourceStart));
         }
 
-        private long getDestination(long source) {
+        // Adjacent ranges with the same offset are merged, so composed maps don't keep ranges they no longer need.
+        private void build() {
+            ranges.sort(Comparator.comparingLong(Range::sourceStart));
+            List<Range> filledRanges = new ArrayList<>(ranges.size() * 2 + 1);
+            long nextStart = 0;
             for (Range range : ranges) {
-                if (source >= range.sourceStart && source <= range.sourceStart + range.length) {
-                    long offset = source - range.sourceStart;
-                    return range.destinationStart + offset;
+                if (range.sourceStart > nextStart) {
+                    addMergingRange(filledRanges, new Range(nextStart, nextStart, range.sourceStart - nextStart));
                 }
+                addMergingRange(filledRanges, range);
+                nextStart = range.sourceStart + range.length;
+            }
+            if (nextStart < Long.MAX_VALUE) {
+                addMergingRange(filledRanges, new Range(nextStart, nextStart, Long.MAX_VALUE - nextStart));
+            }
+
+            starts = filledRanges.stream().mapToLong(Range::sourceStart).toArray();
+            ends = filledRanges.stream().mapToLong(range -> range.sourceStart + range.length).toArray();
+            offsets = filledRanges.stream().mapToLong(range -> range.destinationStart - range.sourceStart).toArray();
+            offsetChanges = new long[offsets.length];
+            for (int i = 0; i < offsets.length; i++) {
+                offsetChanges[i] = offsets[i] - (i == 0 ? 0 : offsets[i - 1]);
             }
-            return source;
         }
 
-        private List<Range> findDestinationRangesMatchingSourceRange(long rangeStart, long rangeLength) {
-            List<Range> result = new ArrayList<>();
-            for (int i = 0; i < ranges.size() && rangeLength > 0; i++) {
-                Range thisRange = ranges.get(i);
-                if (rangeStart > thisRange.sourceStart + thisRange.length) {
-                    continue;
+        private static void addMergingRange(List<Range> ranges, Range range) {
+            if (!ranges.isEmpty()) {
+                Range previous = ranges.getLast();
+                boolean isContinuation = previous.sourceStart + previous.length == range.sourceStart
+                        && previous.destinationStart + previous.length == range.destinationStart;
+                if (isContinuation) {
+                    ranges.set(ranges.size() - 1, new Range(previous.destinationStart, previous.sourceStart, previous.length + range.length));
+                    return;
                 }
+            }
+            ranges.add(range);
+        }
 
-                if (rangeStart < thisRange.sourceStart) {
-                    if (rangeStart + rangeLength < thisRange.sourceStart) {
-                        result.add(new Range(rangeStart, rangeStart, rangeLength));
-                        rangeLength = 0;
-                    } else if (rangeStart + rangeLength < thisRange.sourceStart + thisRange.length) {
-                        result.add(new Range(rangeStart, rangeStart, thisRange.sourceStart - rangeStart));
-                        result.add(new Range(thisRange.destinationStart, thisRange.sourceStart, rangeStart + rangeLength - thisRange.sourceStart));
-                        rangeLength = 0;
-                    } else {
-                        result.add(new Range(rangeStart, rangeStart, thisRange.sourceStart - rangeStart));
-                        result.add(new Range(thisRange.destinationStart, thisRange.sourceStart, thisRange.length));
-
-                        long newRangesLength = thisRange.sourceStart + thisRange.length - rangeStart;
-                        rangeLength -= newRangesLength;
-                        rangeStart += newRangesLength;
-                    }
-                } else {
-                    long offset = rangeStart - thisRange.sourceStart;
-                    if (rangeStart + rangeLength < thisRange.sourceStart + thisRange.length) {
-                        result.add(new Range(thisRange.destinationStart + offset, thisRange.sourceStart + offset, rangeLength));
-                        rangeLength = 0;
-                    } else {
-                        result.add(new Range(thisRange.destinationStart + offset, thisRange.sourceStart + offset, thisRange.length - offset));
-
-                        long newRangeLength = thisRange.length - offset;
-                        rangeLength -= newRangeLength;
-                        rangeStart += newRangeLength;
-                    }
+        /*
+        Returns a map that does the same as applying this map followed by the next one.
+        The destination of each range of this map is split into the ranges of the next map it falls into,
+        and each of those is mapped straight from this map's source to the next map's destination.
+         */
+        private AlmanacMap andThen(AlmanacMap next) {
+            AlmanacMap composed = new AlmanacMap();
+            for (int i = 0; i < starts.length; i++) {
+                long offset = offsets[i];
+                for (Range range : next.findDestinationRangesMatchingSourceRange(starts[i] + offset, ends[i] - starts[i])) {
+                    composed.addRange(new Range(range.destinationStart, range.sourceStart - offset, range.length));
                 }
             }
-            if (rangeLength > 0) {
-                result.add(new Range(rangeStart, rangeStart, rangeLength));
+            composed.build();
+            return composed;
+        }
+
+        // Each range maps its numbers in order, so the minimum destination of each overlapping range is at its start.
+        private long getMinimumDestination(long rangeStart, long rangeLength) {
+            long minimumDestination = Long.MAX_VALUE;
+            long rangeEnd = rangeStart + rangeLength;
+            for (int i = findRangeIndex(rangeStart); i < starts.length && starts[i] < rangeEnd; i++) {
+                minimumDestination = Math.min(minimumDestination, Math.max(rangeStart, starts[i]) + offsets[i]);
+            }
+            return minimumDestination;
+        }
+
+        private long getMinimumDestination(long[] sources) {
+            long minimumDestination = Long.MAX_VALUE;
+            for (long source : sources) {
+                minimumDestination = Math.min(minimumDestination, source + offsets[findRangeIndex(source)]);
+            }
+            return minimumDestination;
+        }
+
+        private long getMinimumDestinationBranchFree(long[] sources) {
+            long minimumDestination = Long.MAX_VALUE;
+            for (long source : sources) {
+                minimumDestination = Math.min(minimumDestination, getDestinationBranchFree(starts, offsetChanges, source));
+            }
+            return minimumDestination;
+        }
+
+        // (starts[i] - source - 1) >> 63 is all ones when the range starts at or before the source and 0 otherwise.
+        private static long getDestinationBranchFree(long[] starts, long[] offsetChanges, long source) {
+            long destination = source;
+            for (int i = 0; i < starts.length; i++) {
+                destination += offsetChanges[i] & ((starts[i] - source - 1) >> 63);
+            }
+            return destination;
+        }
+
+        private List<Range> findDestinationRangesMatchingSourceRange(long rangeStart, long rangeLength) {
+            List<Range> result = new ArrayList<>();
+            long rangeEnd = rangeStart + rangeLength;
+            for (int i = findRangeIndex(rangeStart); rangeStart < rangeEnd; i++) {
+                long length = Math.min(rangeEnd, ends[i]) - rangeStart;
+                result.add(new Range(rangeStart + offsets[i], rangeStart, length));
+                rangeStart += length;
             }
             return result;
         }
+
+        // The index of the range with the greatest start that is not after the number.
+        private int findRangeIndex(long number) {
+            int index = Arrays.binarySearch(starts, number);
+            return index >= 0 ? index : -index - 2;
+        }
     }
 
     private record Range(long destinationStart, long sourceStart, long length) {
@@ -0,0 +1,58 @@
+package com.shnako.solutions.day06;
+
+import com.shnako.solutions.InputGeneratorBase;
+
+import java.io.PrintWriter;
+import java.math.BigInteger;
+import java.util.*;
+
+/*
+Generates 4 races, each with a record distance that can be beaten.
+The input size doesn't grow with the number of races, as part 2 joins them into one race.
+Instead, the race times get longer with the scale, adding a digit to the joined race time for each 10 times the scale,
+spread over the races from the last one backwards.
+Part 2 solves the joined race using longs only while its time is at most 2^31 (2,147,483,648) and its record distance
+at most 2^60, so some 10-digit joined races and all longer ones are solved using BigIntegers.
+A real input has 4 races with 2-digit times.
+ */
+public class InputGenerator extends InputGeneratorBase {
+    private static final int RACES = 4;
+
+    @Override
+    public void generate(int scale, Random random, PrintWriter out) {
+        int extraDigits = (int) Math.log10(scale);
+        while (true) {
+            List<Long> times = new ArrayList<>();
+            List<Long> distances = new ArrayList<>();
+            for (int race = 0; race < RACES; race++) {
+                int digits = 2 + extraDigits / RACES + (race >= RACES - extraDigits % RACES ? 1 : 0);
+                long time = randomBetween(random, (int) Math.pow(10, digits - 1), (int) Math.pow(10, digits) - 1);
+                long maxDistance = (time / 2) * (time - time / 2);
+                times.add(time);
+                distances.add(maxDistance - 1 - (long) (random.nextDouble() * maxDistance / 3));
+            }
+
+            BigInteger joinedTime = new BigInteger(join(times, ""));
+            BigInteger joinedDistance = new BigInteger(join(distances, ""));
+            boolean isJoinedRaceValid = joinedDistance.compareTo(joinedTime.pow(2).shiftRight(2)) < 0;
+            if (new HashSet<>(times).size() == RACES && isJoinedRaceValid) {
+                int columnWidth = String.valueOf(Collections.max(distances)).length() + 3;
+                out.println(formatLine("Time:", times, columnWidth));
+                out.println(formatLine("Distance:", distances, columnWidth));
+                return;
+            }
+        }
+    }
+
+    private String join(List<Long> numbers, String delimiter) {
+        return String.join(delimiter, numbers.stream().map(String::valueOf).toList());
+    }
+
+    private String formatLine(String label, List<Long> numbers, int columnWidth) {
+        StringBuilder line = new StringBuilder(String.format("%-9s", label));
+        for (long number : numbers) {
+            line.append(String.format("%" + columnWidth + "d", number));
+        }
+        return line.toString();
+    }
+}
@@ -5,67 +5,122 @@ import com.shnako.util.InputProcessingUtil;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.IOException;
-import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.LongStream;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
 
 /*
 Very straightforward problem today. Part 1 and part 2 solutions are the same,
 the only difference is that we strip all the spaces from the input before parsing for part 2,
-which results in a single large record rather than multiple smaller ones.
+which results in a single large race rather than multiple smaller ones.
 
-We simply calculate all the possible distances and determine how many of them are better than the record.
-There are ways to optimise this, but bruteforce works fine and fast so no point in doing it.
+Holding the button for h out of the race's T milliseconds travels h * (T - h), so we win when h * (T - h) > D,
+where D is the record distance. This is a quadratic in h, with roots (T - sqrt(T^2 - 4D)) / 2 and (T + sqrt(T^2 - 4D)) / 2,
+and we win for every h strictly between them. Both roots are the same distance from T / 2,
+so if the first winning hold time is w, the last is T - w and there are T - 2w + 1 ways to win.
+We find w from the integer square root, moving it forward while it doesn't win, which happens at most a couple of times
+as the integer square root is at most 1 below the real one. If no hold time wins, w moves past T / 2 and we stop there.
+This makes every race O(1), however long it is.
+Races with T up to 2^31 and D up to 2^60 are solved using longs, as T^2 and 4D then fit with room to spare.
+Longer races, such as joined races with times above 2,147,483,648, are solved the same way using BigIntegers,
+whose square root is exact. The result is the product of the number of ways to win each race.
  */
 public class Solution extends SolutionBase {
+    /*
+    The longest race time solved using longs. Its square, and so 4 times any record distance that can be beaten,
+    fits into a long with room to spare for squaring a square root that's slightly too big while correcting it.
+     */
+    private static final long MAX_LONG_TIME = 1L << 31;
+
     @Override
     public String runPart1() throws IOException {
-        List<String> input = InputProcessingUtil.readInputLines(getDay());
-        Map<Long, Long> records = parseInput(input);
-        long result = solve(records);
-        return String.valueOf(result);
+        try (Stream<String> input = InputProcessingUtil.streamInputLines(getDay())) {
+            List<Race> races = parseInput(input.toList());
+            BigInteger result = solve(races);
+            return String.valueOf(result);
+        }
     }
 
     @Override
     public String runPart2() throws IOException {
-        List<String> input = InputProcessingUtil.readInputLines(getDay())
-                .stream()
-                .map(x -> x.replace(" ", ""))
-                .collect(Collectors.toList());
-        Map<Long, Long> records = parseInput(input);
-        long result = solve(records);
-        return String.valueOf(result);
+        try (Stream<String> input = InputProcessingUtil.streamInputLines(getDay())) {
+            List<Race> races = parseInput(input
+                    .map(x -> x.replace(" ", ""))
+                    .toList());
+            BigInteger result = solve(races);
+            return String.valueOf(result);
+        }
     }
 
-    private long solve(Map<Long, Long> records) {
-        List<Long> winOptions = new ArrayList<>(records.size());
-        for (long time : records.keySet()) {
-            long winOptionsForTime = LongStream.range(0, time)
-                    .map(chargeTime -> chargeTime * (time - chargeTime))
-                    .filter(distance -> distance > records.get(time))
-                    .count();
-            winOptions.add(winOptionsForTime);
+    private BigInteger solve(List<Race> races) {
+        BigInteger result = BigInteger.ONE;
+        for (Race race : races) {
+            result = result.multiply(countWaysToWin(race.time, race.recordDistance));
         }
+        return result;
+    }
 
-        return winOptions.stream().reduce(1L, (a, b) -> a * b);
+    public static BigInteger countWaysToWin(BigInteger time, BigInteger recordDistance) {
+        boolean fitsIntoLong = time.compareTo(BigInteger.valueOf(MAX_LONG_TIME)) <= 0
+                && recordDistance.compareTo(BigInteger.valueOf(MAX_LONG_TIME * MAX_LONG_TIME / 4)) <= 0;
+        if (fitsIntoLong) {
+            return BigInteger.valueOf(countWaysToWin(time.longValueExact(), recordDistance.longValueExact()));
+        }
+
+        BigInteger discriminant = time.multiply(time).subtract(recordDistance.shiftLeft(2));
+        if (discriminant.signum() <= 0) {
+            return BigInteger.ZERO;
+        }
+        BigInteger firstWinningHoldTime = time.subtract(discriminant.sqrt()).shiftRight(1);
+        while (firstWinningHoldTime.shiftLeft(1).compareTo(time) <= 0
+                && firstWinningHoldTime.multiply(time.subtract(firstWinningHoldTime)).compareTo(recordDistance) <= 0) {
+            firstWinningHoldTime = firstWinningHoldTime.add(BigInteger.ONE);
+        }
+        return time.subtract(firstWinningHoldTime.shiftLeft(1)).add(BigInteger.ONE).max(BigInteger.ZERO);
     }
 
-    private Map<Long, Long> parseInput(List<String> input) {
-        List<Long> times = extractNumbersFromLine(input.get(0));
-        List<Long> distances = extractNumbersFromLine(input.get(1));
+    private static long countWaysToWin(long time, long recordDistance) {
+        long discriminant = time * time - 4 * recordDistance;
+        if (discriminant <= 0) {
+            return 0;
+        }
+        // The double square root can be off by 1 either way, so we correct it to the integer square root.
+        long root = (long) Math.sqrt(discriminant);
+        while (root * root > discriminant) {
+            root--;
+        }
+        while ((root + 1) * (root + 1) <= discriminant) {
+            root++;
+        }
+
+        long firstWinningHoldTime = (time - root) / 2;
+        while (2 * firstWinningHoldTime <= time && firstWinningHoldTime * (time - firstWinningHoldTime) <= recordDistance) {
+            firstWinningHoldTime++;
+        }
+        return Math.max(time - 2 * firstWinningHoldTime + 1, 0);
+    }
+
+    private List<Race> parseInput(List<String> input) {
+        List<BigInteger> times = extractNumbersFromLine(input.get(0));
+        List<BigInteger> distances = extractNumbersFromLine(input.get(1));
 
-        Map<Long, Long> records = new HashMap<>(times.size());
+        List<Race> races = new ArrayList<>(times.size());
         for (int i = 0; i < times.size(); i++) {
-            records.put(times.get(i), distances.get(i));
+            races.add(new Race(times.get(i), distances.get(i)));
         }
-        return records;
+        return races;
     }
 
-    private List<Long> extractNumbersFromLine(String line) {
+    private List<BigInteger> extractNumbersFromLine(String line) {
         return Arrays.stream(line.split(":")[1].trim().split(" "))
                 .map(String::trim)
                 .filter(StringUtils::isNotBlank)
-                .map(Long::parseLong)
+                .map(BigInteger::new)
                 .toList();
     }
-}
\ No newline at end of file
+
+    private record Race(BigInteger time, BigInteger recordDistance) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.shnako.solutions.day07;
+
+import com.shnako.solutions.InputGeneratorBase;
+
+import java.io.PrintWriter;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/*
+Generates unique hands of 5 random cards, each with a bid between 1 and 1000.
+There are only 13^5 different hands, so larger scales are capped at that many hands.
+A real input has 1000 hands.
+ */
+public class InputGenerator extends InputGeneratorBase {
+    private static final String CARDS = "23456789TJQKA";
+    private static final int MAX_HANDS = (int) Math.pow(CARDS.length(), 5);
+
+    @Override
+    public void generate(int scale, Random random, PrintWriter out) {
+        int hands = (int) Math.min(1000L * scale, MAX_HANDS);
+        Set<String> generatedHands = new HashSet<>();
+        while (generatedHands.size() < hands) {
+            StringBuilder hand = new StringBuilder(5);
+            for (int card = 0; card < 5; card++) {
+                hand.append(CARDS.charAt(random.nextInt(CARDS.length())));
+            }
+            if (generatedHands.add(hand.toString())) {
+                out.println(hand + " " + randomBetween(random, 1, 1000));
+            }
+        }
+    }
+}
@@ -1,27 +1,43 @@
 package com.shnako.solutions.day07;
 
 import com.shnako.solutions.SolutionBase;
+import com.shnako.util.ByteLine;
 import com.shnako.util.InputProcessingUtil;
-import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.Arrays;
+import java.util.function.Consumer;
 
 /*
+We parse each hand straight from the bytes of the input into a single int key that sorts the hands by strength.
+The hand type's rank is in the high bits, followed by the 4-bit value of each of the 5 cards from left to right,
+so comparing keys compares the hand types first and then the cards in order, which is exactly how hands are ranked.
+Card values are their positions in the order of the cards, from 0 to 12,
+so the 5 card values are also the digits of a base 13 number that identifies the combination of cards in the hand.
+The hand type of every one of the 13^5 combinations is computed once, when first needed, into a lookup table,
+so finding the type of a hand is a single array lookup. Each part has its own table, which is only built if that part runs. A combination's hand type comes from
+the number of different cards and the count of the most common card.
+Each key is then packed with its bid into a long, with the key in the high 32 bits,
+so sorting the longs with Arrays.parallelSort sorts the hands without creating any objects.
+The result is then calculated by multiplying the bid number with the position in the sorted array and summing.
+
 Part 1:
-While reading the cards, we replace the letter cards with numbers to reflect their ordering.
-We determine for each hand what type it is and store it as an enum with integer value.
-We then sort the hands by the enum numbers and from left to right on identical hand types.
-The result is then calculated by multiplying the bid number with the position in the sorted list and summing.
+The cards are ordered from 2 to A, with J between T and Q.
 
 Part 2:
-The solution to this is similar to part 1,
-but when determining the hand type we replace the joker to get the best hand possible.
-We also treat the joker as a 0 when comparing.
+The solution to this is similar to part 1, but the joker is the weakest card, so it's ordered first and has the value 0,
+and the hand types come from a second lookup table that treats the 0 cards as jokers.
+The best hand is always made by turning the jokers into the most common other card,
+so we leave the jokers out of the counts and add them to the count of the most common card.
 Sneaky edge case when all cards are jokers is treated as five of a kind of zeros.
  */
 public class Solution extends SolutionBase {
+    private static final String CARD_ORDER = "23456789TJQKA";
+    private static final String CARD_ORDER_WITH_JOKERS = "J23456789TQKA";
+    private static final int CARDS_PER_HAND = 5;
+    private static final int BITS_PER_CARD = 4;
+    private static final int JOKER = 0;
+
     @Override
     public String runPart1() throws IOException {
         return solve(false);
@@ -33,116 +49,129 @@ public class Solution extends SolutionBase {
     }
 
     private String solve(boolean replaceJoker) throws IOException {
-        List<Hand> hands = parseInput(replaceJoker)
-                .stream()
-                .sorted()
-                .toList();
+        long[] hands = getParsedInput(replaceJoker ? "handsWithJokers" : "hands", () -> parseInput(replaceJoker)).clone();
+        Arrays.parallelSort(hands);
         long result = 0;
-        for (int i = 0; i < hands.size(); i++) {
-            result += (long) hands.get(i).bid * (i + 1);
+        for (int i = 0; i < hands.length; i++) {
+            result += (hands[i] & 0xFFFFFFFFL) * (i + 1);
         }
         return String.valueOf(result);
     }
 
-    private List<Hand> parseInput(boolean replaceJoker) throws IOException {
-        final Map<Character, Integer> cardValueMap = Map.of(
-                'T', 10,
-                'J', replaceJoker ? 0 : 11,
-                'Q', 12,
-                'K', 13,
-                'A', 14
-        );
-        List<String> input = InputProcessingUtil.readInputLines(getDay());
-        return input.stream()
-                .map(line -> parseInputLine(line, cardValueMap, replaceJoker))
-                .collect(Collectors.toList());
+    private long[] parseInput(boolean replaceJoker) throws IOException {
+        HandParser handParser = new HandParser(replaceJoker);
+        InputProcessingUtil.mapInput(getDay()).forEachLine(handParser);
+        return Arrays.copyOf(handParser.hands, handParser.handCount);
     }
 
-    private Hand parseInputLine(String inputLine, Map<Character, Integer> cardValueMap, boolean replaceJoker) {
-        String[] components = inputLine.split(" ");
-        List<Integer> cards = new ArrayList<>(5);
-        for (char card : components[0].toCharArray()) {
-            if (Character.isDigit(card)) {
-                cards.add(card - '0');
-            } else {
-                cards.add(cardValueMap.get(card));
+    private static class HandParser implements Consumer<ByteLine> {
+        private final byte[] handTypeRanks;
+        private final int[] cardValues = new int[128];
+        private long[] hands = new long[1024];
+        private int handCount;
+
+        private HandParser(boolean replaceJoker) {
+            handTypeRanks = HandTypeTable.ranks(replaceJoker);
+            String cardOrder = replaceJoker ? CARD_ORDER_WITH_JOKERS : CARD_ORDER;
+            for (int value = 0; value < cardOrder.length(); value++) {
+                cardValues[cardOrder.charAt(value)] = value;
             }
         }
 
-        int bid = Integer.parseInt(components[1]);
+        @Override
+        public void accept(ByteLine line) {
+            if (line.isEmpty()) {
+                return;
+            }
+
+            int packedCardValues = 0;
+            int cardCombination = 0;
+            for (int i = 0; i < CARDS_PER_HAND; i++) {
+                int cardValue = cardValues[line.byteAt(i)];
+                packedCardValues = (packedCardValues << BITS_PER_CARD) | cardValue;
+                cardCombination = cardCombination * CARD_ORDER.length() + cardValue;
+            }
+            int key = (handTypeRanks[cardCombination] << (CARDS_PER_HAND * BITS_PER_CARD)) | packedCardValues;
+
+            int bid = 0;
+            for (int i = CARDS_PER_HAND + 1; i < line.length(); i++) {
+                bid = bid * 10 + (line.byteAt(i) - '0');
+            }
 
-        return new Hand(cards, bid, replaceJoker);
+            if (handCount == hands.length) {
+                hands = Arrays.copyOf(hands, hands.length * 2);
+            }
+            hands[handCount++] = ((long) key << 32) | bid;
+        }
     }
 
-    private static class Hand implements Comparable<Hand> {
-        private final List<Integer> cards;
-        private final int bid;
-        private final HandType handType;
+    // The rank of the hand type of the 5 cards, looked up the same way as when parsing the input.
+    static int getHandTypeRank(String cards, boolean replaceJoker) {
+        String cardOrder = replaceJoker ? CARD_ORDER_WITH_JOKERS : CARD_ORDER;
+        int cardCombination = 0;
+        for (int i = 0; i < CARDS_PER_HAND; i++) {
+            cardCombination = cardCombination * cardOrder.length() + cardOrder.indexOf(cards.charAt(i));
+        }
+        return HandTypeTable.ranks(replaceJoker)[cardCombination];
+    }
 
-        private Hand(List<Integer> cards, int bid, boolean replaceJoker) {
-            this.cards = cards;
-            this.bid = bid;
-            this.handType = determineHandType(replaceJoker);
+    /*
+    The rank of the hand type of every combination of card values, indexed by the combination as a base 13 number.
+    Each table is held by its own class, so it's only built the first time a hand is parsed with it,
+    as that's when its holder class is initialised.
+    Each table is filled by adding the cards one at a time, keeping track of the number of different cards
+    and the count of the most common card as each card is added, so every combination's hand type is found in O(1).
+     */
+    private static class HandTypeTable {
+        private static byte[] ranks(boolean replaceJoker) {
+            return replaceJoker ? JokerRanks.RANKS : Ranks.RANKS;
         }
 
-        private Hand withJokerAsCard(int jokerCardValue) {
-            List<Integer> newCards = cards.stream()
-                    .map(card -> card == 0 ? jokerCardValue : card)
-                    .toList();
-            return new Hand(newCards, bid, false);
+        private static class Ranks {
+            private static final byte[] RANKS = buildRanks(false);
         }
 
-        private Hand mapToHighestPossibleJokerHand(Hand hand) {
-            return hand.cards.stream()
-                    .filter(card -> card != 0)
-                    .map(hand::withJokerAsCard)
-                    .max(Comparator.naturalOrder())
-                    .orElseGet(() -> new Hand(List.of(0, 0, 0, 0, 0), hand.bid, false));
+        private static class JokerRanks {
+            private static final byte[] RANKS = buildRanks(true);
         }
 
-        private HandType determineHandType(boolean replaceJoker) {
-            List<Integer> cards = replaceJoker ? mapToHighestPossibleJokerHand(this).cards : this.cards;
-            Map<Integer, Integer> frequencyMap = new HashMap<>();
-            cards.forEach(card -> frequencyMap.put(card, frequencyMap.getOrDefault(card, 0) + 1));
-            return switch (frequencyMap.size()) {
-                case 1 -> HandType.FIVE_OAK;
-                case 2 -> {
-                    if (frequencyMap.containsValue(4)) {
-                        yield HandType.FOUR_OAK;
-                    } else {
-                        yield HandType.FULL;
-                    }
-                }
-                case 3 -> {
-                    if (frequencyMap.containsValue(3)) {
-                        yield HandType.THREE_OAK;
-                    } else {
-                        yield HandType.PAIRS;
-                    }
-                }
-                case 4 -> HandType.PAIR;
-                default -> HandType.HIGH;
-            };
+        private static byte[] buildRanks(boolean replaceJoker) {
+            byte[] ranks = new byte[(int) Math.pow(CARD_ORDER.length(), CARDS_PER_HAND)];
+            addCards(ranks, replaceJoker, new int[CARD_ORDER.length()], 0, 0, 0, 0, 0);
+            return ranks;
         }
 
-        @Override
-        public int compareTo(@NotNull Solution.Hand other) {
-            if (this.handType != other.handType) {
-                return Integer.compare(this.handType.rank, other.handType.rank);
-            } else {
-                for (int i = 0; i < this.cards.size(); i++) {
-                    if (Objects.equals(this.cards.get(i), other.cards.get(i))) {
-                        continue;
-                    }
-                    if (this.cards.get(i) < other.cards.get(i)) {
-                        return -1;
-                    } else {
-                        return 1;
-                    }
+        private static void addCards(byte[] ranks, boolean replaceJoker, int[] cardCounts, int addedCards,
+                                     int cardCombination, int differentCards, int mostCommonCardCount, int jokerCount) {
+            if (addedCards == CARDS_PER_HAND) {
+                ranks[cardCombination] = (byte) determineHandType(differentCards, mostCommonCardCount + jokerCount).rank;
+                return;
+            }
+
+            for (int cardValue = 0; cardValue < cardCounts.length; cardValue++) {
+                int nextCombination = cardCombination * cardCounts.length + cardValue;
+                if (replaceJoker && cardValue == JOKER) {
+                    addCards(ranks, true, cardCounts, addedCards + 1, nextCombination,
+                            differentCards, mostCommonCardCount, jokerCount + 1);
+                } else {
+                    int cardCount = ++cardCounts[cardValue];
+                    addCards(ranks, replaceJoker, cardCounts, addedCards + 1, nextCombination,
+                            differentCards + (cardCount == 1 ? 1 : 0), Math.max(mostCommonCardCount, cardCount), jokerCount);
+                    cardCounts[cardValue]--;
                 }
-                return 0;
             }
         }
+
+        // The jokers are turned into the most common other card, so they're added to its count but aren't different cards.
+        private static HandType determineHandType(int differentCards, int mostCommonCardCount) {
+            return switch (mostCommonCardCount) {
+                case 5 -> HandType.FIVE_OAK;
+                case 4 -> HandType.FOUR_OAK;
+                case 3 -> differentCards == 2 ? HandType.FULL : HandType.THREE_OAK;
+                case 2 -> differentCards == 3 ? HandType.PAIRS : HandType.PAIR;
+                default -> HandType.HIGH;
+            };
+        }
     }
 
     private enum HandType {
@@ -160,4 +189,4 @@ public class Solution extends SolutionBase {
             this.rank = rank;
         }
     }
-}
\ No newline at end of file
+}
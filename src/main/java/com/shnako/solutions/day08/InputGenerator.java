@@ -0,0 +1,74 @@
+package com.shnako.solutions.day08;
+
+import com.shnako.solutions.InputGeneratorBase;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/*
+Generates the instructions and a network where each ghost walks a ladder of 2 nodes wide from its start node to its end node,
+so it reaches the end node after the same number of steps whichever way it turns.
+The end node leads back to the start of the ladder, so each ghost loops with the same period, which part 2 relies on.
+The first ghost goes from AAA to ZZZ for part 1.
+Node names have 3 letters and only start and end nodes may end in A or Z,
+so larger scales are capped at as many ghosts as there are names for their ladders.
+A real input has 263 instructions and 6 ghosts, with ladders between 40 and 80 steps long.
+ */
+public class InputGenerator extends InputGeneratorBase {
+    private static final int MAX_LADDER_LENGTH = 80;
+
+    @Override
+    public void generate(int scale, Random random, PrintWriter out) {
+        StringBuilder instructions = new StringBuilder();
+        for (int i = 0; i < 263; i++) {
+            instructions.append(random.nextBoolean() ? 'L' : 'R');
+        }
+        out.println(instructions);
+        out.println();
+
+        List<String> ladderNodeNames = new ArrayList<>();
+        for (int i = 0; i < 26 * 26 * 24; i++) {
+            ladderNodeNames.add(letter(i / (26 * 24)) + letter(i / 24 % 26) + (char) ('B' + i % 24));
+        }
+        Collections.shuffle(ladderNodeNames, random);
+
+        int maxGhosts = Math.min(26 * 26 - 1, ladderNodeNames.size() / (2 * MAX_LADDER_LENGTH));
+        int ghosts = (int) Math.min(6L * scale, maxGhosts);
+        int nextLadderNode = 0;
+        List<String> nodes = new ArrayList<>();
+        for (int ghost = 0; ghost < ghosts; ghost++) {
+            String startNode = letter(ghost / 26) + letter(ghost % 26) + 'A';
+            String endNode = ghost == 0 ? "ZZZ" : startNode.substring(0, 2) + 'Z';
+
+            int ladderLength = randomBetween(random, 40, MAX_LADDER_LENGTH);
+            List<String> ladder = ladderNodeNames.subList(nextLadderNode, nextLadderNode + 2 * (ladderLength - 1));
+            nextLadderNode += ladder.size();
+
+            nodes.add(formatNode(startNode, ladder.get(0), ladder.get(1), random));
+            for (int step = 0; step < ladderLength - 2; step++) {
+                String next1 = ladder.get(2 * step + 2), next2 = ladder.get(2 * step + 3);
+                nodes.add(formatNode(ladder.get(2 * step), next1, next2, random));
+                nodes.add(formatNode(ladder.get(2 * step + 1), next1, next2, random));
+            }
+            nodes.add(formatNode(ladder.get(ladder.size() - 2), endNode, endNode, random));
+            nodes.add(formatNode(ladder.get(ladder.size() - 1), endNode, endNode, random));
+            nodes.add(formatNode(endNode, ladder.get(0), ladder.get(1), random));
+        }
+
+        Collections.shuffle(nodes, random);
+        nodes.forEach(out::println);
+    }
+
+    private String letter(int index) {
+        return String.valueOf((char) ('A' + index));
+    }
+
+    private String formatNode(String node, String next1, String next2, Random random) {
+        return random.nextBoolean()
+                ? node + " = (" + next1 + ", " + next2 + ")"
+                : node + " = (" + next2 + ", " + next1 + ")";
+    }
+}
@@ -2,15 +2,20 @@ package com.shnako.solutions.day08;
 
 import com.shnako.solutions.SolutionBase;
 import com.shnako.util.InputProcessingUtil;
-import org.apache.commons.lang3.tuple.Pair;
 
 import java.io.IOException;
 import java.math.BigInteger;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 /*
+We compile the network into arrays, so navigating it doesn't hash any strings.
+The node names are read as base 36 numbers, which turns each 3 character name into a unique id below 36^3,
+and the left and right nodes of each node are stored at its id in the left and right arrays.
+The directions are stored as a bitset, with the bits of the right turns set.
+Each step is then two array lookups, one for the direction and one for the next node.
+A node name ends with a suffix when its id modulo 36^(suffix length) is the id of the suffix.
+
 Part 1:
 We navigate the network as detailed.
 The result is the number of steps required to reach the destination.
@@ -23,38 +28,45 @@ We therefore only need to determine how many steps are needed to reach the desti
 The result is then the least common multiple of these numbers.
  */
 public class Solution extends SolutionBase {
+    private static final int NAME_RADIX = 36;
+    private static final int NAME_LENGTH = 3;
+    private static final int NODE_IDS = (int) Math.pow(NAME_RADIX, NAME_LENGTH);
+
     @Override
     public String runPart1() throws IOException {
         Network network = parseInput();
-        int result = navigate("AAA", "ZZZ", network);
+        long result = navigate(toNodeId("AAA"), "ZZZ", network);
         return String.valueOf(result);
     }
 
     @Override
     public String runPart2() throws IOException {
         Network network = parseInput();
+        int startSuffix = toNodeId("A");
 
-        BigInteger result = network.nodes.keySet().stream()
-                .filter(from -> from.endsWith("A"))
-                .map(from -> navigate(from, "Z", network))
+        BigInteger result = Arrays.stream(network.nodes)
+                .filter(from -> from % NAME_RADIX == startSuffix)
+                .mapToObj(from -> navigate(from, "Z", network))
                 .map(BigInteger::valueOf)
                 .reduce(BigInteger.valueOf(1), Solution::lcm);
 
         return result.toString();
     }
 
-    private int navigate(String from, String to, Network network) {
+    private long navigate(int from, String toSuffix, Network network) {
+        int destinationModulus = (int) Math.pow(NAME_RADIX, toSuffix.length());
+        int destinationSuffix = toNodeId(toSuffix);
+
         int directionIndex = 0;
-        String currentNode = from;
-        int steps = 0;
-        while (!currentNode.endsWith(to)) {
-            if (network.directions.get(directionIndex)) {
-                currentNode = network.nodes.get(currentNode).getRight();
-            } else {
-                currentNode = network.nodes.get(currentNode).getLeft();
-            }
+        int currentNode = from;
+        long steps = 0;
+        while (currentNode % destinationModulus != destinationSuffix) {
+            boolean isRight = (network.directions[directionIndex >>> 6] & (1L << directionIndex)) != 0;
+            currentNode = isRight ? network.right[currentNode] : network.left[currentNode];
             steps++;
-            directionIndex = (directionIndex + 1) % network.directions.size();
+            if (++directionIndex == network.directionCount) {
+                directionIndex = 0;
+            }
         }
         return steps;
     }
@@ -65,22 +77,36 @@ public class Solution extends SolutionBase {
         return absProduct.divide(gcd);
     }
 
+    private static int toNodeId(String name) {
+        return Integer.parseInt(name, NAME_RADIX);
+    }
+
     private Network parseInput() throws IOException {
         List<String> input = InputProcessingUtil.readInputLines(getDay());
 
-        List<Boolean> directions = input.get(0).chars().mapToObj(c -> c == 'R').toList();
+        String directionLine = input.get(0);
+        long[] directions = new long[(directionLine.length() + 63) / 64];
+        for (int i = 0; i < directionLine.length(); i++) {
+            if (directionLine.charAt(i) == 'R') {
+                directions[i >>> 6] |= 1L << i;
+            }
+        }
 
-        Map<String, Pair<String, String>> nodes = new HashMap<>();
+        int[] nodes = new int[input.size() - 2];
+        int[] left = new int[NODE_IDS];
+        int[] right = new int[NODE_IDS];
         for (int i = 2; i < input.size(); i++) {
             String[] components = input.get(i).split(" = ");
-            String from = components[0];
+            int from = toNodeId(components[0]);
             String[] tos = components[1].replace("(", "").replace(")", "").split(", ");
-            nodes.put(from, Pair.of(tos[0], tos[1]));
+            nodes[i - 2] = from;
+            left[from] = toNodeId(tos[0]);
+            right[from] = toNodeId(tos[1]);
         }
 
-        return new Network(directions, nodes);
+        return new Network(directions, directionLine.length(), nodes, left, right);
     }
 
-    private record Network(List<Boolean> directions, Map<String, Pair<String, String>> nodes) {
+    private record Network(long[] directions, int directionCount, int[] nodes, int[] left, int[] right) {
     }
-}
\ No newline at end of file
+}
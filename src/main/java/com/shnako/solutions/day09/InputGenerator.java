@@ -0,0 +1,36 @@
+package com.shnako.solutions.day09;
+
+import com.shnako.solutions.InputGeneratorBase;
+
+import java.io.PrintWriter;
+import java.util.Random;
+import java.util.StringJoiner;
+
+/*
+Generates histories of 21 values, each built up from a random table of differences that ends in a constant row,
+so the differences always reach all zeroes.
+A real input has 200 histories.
+ */
+public class InputGenerator extends InputGeneratorBase {
+    private static final int VALUES = 21;
+
+    @Override
+    public void generate(int scale, Random random, PrintWriter out) {
+        for (int i = 0; i < 200 * scale; i++) {
+            int degree = randomBetween(random, 1, 8);
+            long[] differences = new long[degree + 1];
+            for (int level = 0; level <= degree; level++) {
+                differences[level] = randomBetween(random, -10, 10);
+            }
+
+            StringJoiner history = new StringJoiner(" ");
+            for (int value = 0; value < VALUES; value++) {
+                history.add(String.valueOf(differences[0]));
+                for (int level = 0; level < degree; level++) {
+                    differences[level] += differences[level + 1];
+                }
+            }
+            out.println(history);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.Stream;
 
 /*
 Very straightforward problem today. The solution is to just implement what the problem asks for, nothing fancy.
@@ -14,24 +15,24 @@ Very straightforward problem today. The solution is to just implement what the p
 public class Solution extends SolutionBase {
     @Override
     public String runPart1() throws IOException {
-        List<List<Integer>> histories = parseInput();
-        int result = histories
-                .stream()
-                .map(this::generateSequences)
-                .mapToInt(this::getValueExtrapolatedAtTheEnd)
-                .sum();
-        return String.valueOf(result);
+        try (Stream<List<Integer>> histories = streamInput()) {
+            int result = histories
+                    .map(this::generateSequences)
+                    .mapToInt(this::getValueExtrapolatedAtTheEnd)
+                    .sum();
+            return String.valueOf(result);
+        }
     }
 
     @Override
     public String runPart2() throws IOException {
-        List<List<Integer>> histories = parseInput();
-        int result = histories
-                .stream()
-                .map(this::generateSequences)
-                .mapToInt(this::getValueExtrapolatedAtTheBeginning)
-                .sum();
-        return String.valueOf(result);
+        try (Stream<List<Integer>> histories = streamInput()) {
+            int result = histories
+                    .map(this::generateSequences)
+                    .mapToInt(this::getValueExtrapolatedAtTheBeginning)
+                    .sum();
+            return String.valueOf(result);
+        }
     }
 
     private LinkedList<LinkedList<Integer>> generateSequences(List<Integer> history) {
@@ -65,12 +66,10 @@ public class Solution extends SolutionBase {
         return sequences.get(0).getFirst();
     }
 
-    private List<List<Integer>> parseInput() throws IOException {
-        return InputProcessingUtil.readInputLines(getDay())
-                .stream()
+    private Stream<List<Integer>> streamInput() throws IOException {
+        return InputProcessingUtil.streamInputLines(getDay())
                 .map(line -> Arrays.stream(line.split(" "))
                         .map(Integer::parseInt)
-                        .toList())
-                .toList();
+                        .toList());
     }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.shnako.solutions.day10;
+
+import com.shnako.solutions.InputGeneratorBase;
+
+import java.io.PrintWriter;
+import java.util.Random;
+
+/*
+Generates a map with a single pipe loop around a random region and junk pipes everywhere else.
+The region is made of a range of tile columns, each covering a range of rows that overlaps the previous column's,
+so its outline is a single loop that never touches itself.
+The pipes run along the corners of the region's tiles, with the start on a random part of the loop.
+Only the loop pipes connect to the start, so the loop can be followed from it.
+A real input is 140 by 140.
+ */
+public class InputGenerator extends InputGeneratorBase {
+    private static final String JUNK = "|-LJ7F.";
+    private static final int N = 1, E = 2, S = 4, W = 8;
+
+    @Override
+    public void generate(int scale, Random random, PrintWriter out) {
+        int side = scaleSide(140, scale);
+        int tiles = side - 1;
+
+        // The directions the loop leaves each map position in, as a bitmask.
+        int[][] flows = new int[side][side];
+        int previousTop = randomBetween(random, 0, tiles / 2), previousBottom = randomBetween(random, tiles / 2, tiles - 1);
+        for (int col = 0; col < tiles; col++) {
+            int top = Math.clamp(previousTop + randomBetween(random, -4, 4), 0, previousBottom);
+            int bottom = Math.clamp(previousBottom + randomBetween(random, -4, 4), Math.max(top, previousTop), tiles - 1);
+            for (int row = top; row <= bottom; row++) {
+                boolean isTop = row == top, isBottom = row == bottom;
+                boolean isLeft = col == 0 || row < previousTop || row > previousBottom;
+                if (isTop) {
+                    flows[row][col] |= E;
+                    flows[row][col + 1] |= W;
+                }
+                if (isBottom) {
+                    flows[row + 1][col] |= E;
+                    flows[row + 1][col + 1] |= W;
+                }
+                if (isLeft) {
+                    flows[row][col] |= S;
+                    flows[row + 1][col] |= N;
+                }
+            }
+            // The right sides of the previous column's tiles that this column doesn't cover.
+            if (col > 0) {
+                addRightSides(flows, col, previousTop, top - 1);
+                addRightSides(flows, col, bottom + 1, previousBottom);
+            }
+            previousTop = top;
+            previousBottom = bottom;
+        }
+        addRightSides(flows, tiles, previousTop, previousBottom);
+
+        int start;
+        do {
+            start = random.nextInt(side * side);
+        } while (flows[start / side][start % side] == 0);
+
+        char[][] map = new char[side][side];
+        for (int row = 0; row < side; row++) {
+            for (int col = 0; col < side; col++) {
+                map[row][col] = flows[row][col] == 0
+                        ? JUNK.charAt(random.nextInt(JUNK.length()))
+                        : toPipeSegment(flows[row][col]);
+            }
+        }
+
+        int startRow = start / side, startCol = start % side;
+        map[startRow][startCol] = 'S';
+        int[][] neighbours = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+        for (int[] neighbour : neighbours) {
+            int row = startRow + neighbour[0], col = startCol + neighbour[1];
+            if (row >= 0 && row < side && col >= 0 && col < side && flows[row][col] == 0) {
+                map[row][col] = '.';
+            }
+        }
+
+        for (char[] row : map) {
+            out.println(row);
+        }
+    }
+
+    private void addRightSides(int[][] flows, int col, int fromRow, int toRow) {
+        for (int row = fromRow; row <= toRow; row++) {
+            flows[row][col] |= S;
+            flows[row + 1][col] |= N;
+        }
+    }
+
+    private char toPipeSegment(int flow) {
+        return switch (flow) {
+            case N | S -> '|';
+            case E | W -> '-';
+            case N | E -> 'L';
+            case N | W -> 'J';
+            case S | W -> '7';
+            case S | E -> 'F';
+            default -> throw new IllegalStateException("Invalid pipe flow " + flow);
+        };
+    }
+}
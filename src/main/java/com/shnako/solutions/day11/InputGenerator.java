@@ -0,0 +1,36 @@
+package com.shnako.solutions.day11;
+
+import com.shnako.solutions.InputGeneratorBase;
+
+import java.io.PrintWriter;
+import java.util.Random;
+
+/*
+Generates a square image with about 2% galaxies, leaving about 1 in 12 rows and columns empty.
+A real input is 140 by 140.
+ */
+public class InputGenerator extends InputGeneratorBase {
+    @Override
+    public void generate(int scale, Random random, PrintWriter out) {
+        int side = scaleSide(140, scale);
+        boolean[] isEmptyRow = randomEmptyLines(side, random);
+        boolean[] isEmptyCol = randomEmptyLines(side, random);
+
+        char[] row = new char[side];
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                boolean isGalaxy = !isEmptyRow[r] && !isEmptyCol[c] && random.nextInt(50) == 0;
+                row[c] = isGalaxy ? '#' : '.';
+            }
+            out.println(row);
+        }
+    }
+
+    private boolean[] randomEmptyLines(int side, Random random) {
+        boolean[] isEmpty = new boolean[side];
+        for (int i = 0; i < side; i++) {
+            isEmpty[i] = random.nextInt(12) == 0;
+        }
+        return isEmpty;
+    }
+}
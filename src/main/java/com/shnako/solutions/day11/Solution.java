@@ -1,17 +1,17 @@
 package com.shnako.solutions.day11;
 
 import com.shnako.solutions.SolutionBase;
-import com.shnako.util.InputProcessingUtil;
+import com.shnako.util.grid.Grid;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
 
 /*
 Part 1:
-We store the galaxy locations as a list of coordinates. For each galaxy pair,
+We store the galaxy locations as a list of cells. For each galaxy pair,
 we calculate the difference between their coordinates on both axis, adding the empty rows or columns between them,
 and sum these 2 results together to find the distance between them.
+To find the empty rows or columns between them without going through all of them for each pair,
+we keep the number of empty rows and columns before each row and column.
 The result is the sum of these distances.
 
 Part 2:
@@ -29,78 +29,65 @@ public class Solution extends SolutionBase {
     }
 
     private String solve(long emptinessFactor) throws IOException {
-        char[][] input = InputProcessingUtil.readCharGrid(getDay());
-        Image image = new Image(input);
+        Image image = new Image(Grid.read(getDay()));
         long result = 0;
-        for (int i = 0; i < image.galaxies.size(); i++) {
-            for (int j = i + 1; j < image.galaxies.size(); j++) {
-                result += findDistance(image.galaxies.get(i), image.galaxies.get(j), image, emptinessFactor);
+        for (int i = 0; i < image.galaxyCount; i++) {
+            for (int j = i + 1; j < image.galaxyCount; j++) {
+                result += findDistance(image, i, j, emptinessFactor);
             }
         }
         return String.valueOf(result);
     }
 
-    private long findDistance(int[] a, int[] b, Image image, long emptinessFactor) {
-        long rowDistance = (Math.abs(a[0] - b[0]) + emptinessFactor * findEmptySpaces(a[0], b[0], image.emptyRows));
-        long colDistance = (Math.abs(a[1] - b[1]) + emptinessFactor * findEmptySpaces(a[1], b[1], image.emptyColumns));
+    private long findDistance(Image image, int a, int b, long emptinessFactor) {
+        long rowDistance = findDistance(image.galaxyRows[a], image.galaxyRows[b], image.emptyRowsBefore, emptinessFactor);
+        long colDistance = findDistance(image.galaxyColumns[a], image.galaxyColumns[b], image.emptyColumnsBefore, emptinessFactor);
         return rowDistance + colDistance;
     }
 
-    private int findEmptySpaces(int x1, int x2, List<Integer> emptySpaces) {
-        if (x1 > x2) {
-            x1 = x1 ^ x2;
-            x2 = x1 ^ x2;
-            x1 = x1 ^ x2;
-        }
-        int result = 0;
-        for (int space : emptySpaces) {
-            if (x1 < space && space < x2) {
-                result++;
-            }
-        }
-        return result;
+    // The coordinates are never empty spaces themselves, as they contain galaxies.
+    private long findDistance(int x1, int x2, int[] emptySpacesBefore, long emptinessFactor) {
+        int emptySpaces = Math.abs(emptySpacesBefore[x1] - emptySpacesBefore[x2]);
+        return Math.abs(x1 - x2) + emptinessFactor * emptySpaces;
     }
 
     private static class Image {
-        private final char[][] image;
-        private final List<int[]> galaxies;
-        private final List<Integer> emptyRows;
-        private final List<Integer> emptyColumns;
+        private final int[] galaxyRows;
+        private final int[] galaxyColumns;
+        private final int galaxyCount;
+        private final int[] emptyRowsBefore;
+        private final int[] emptyColumnsBefore;
 
-        private Image(char[][] image) {
-            this.image = image;
-            this.galaxies = findGalaxies();
-            this.emptyRows = findEmptiness(true);
-            this.emptyColumns = findEmptiness(false);
-        }
+        private Image(Grid image) {
+            int maxGalaxies = image.width() * image.height();
+            this.galaxyRows = new int[maxGalaxies];
+            this.galaxyColumns = new int[maxGalaxies];
+            boolean[] rowHasGalaxy = new boolean[image.height()];
+            boolean[] columnHasGalaxy = new boolean[image.width()];
 
-        private List<int[]> findGalaxies() {
-            List<int[]> result = new ArrayList<>();
-            for (int i = 0; i < image.length; i++) {
-                for (int j = 0; j < image[i].length; j++) {
-                    if (image[i][j] == '#') {
-                        result.add(new int[]{i, j});
+            int count = 0;
+            for (int row = 0; row < image.height(); row++) {
+                for (int col = 0; col < image.width(); col++) {
+                    if (image.get(row, col) == '#') {
+                        galaxyRows[count] = row;
+                        galaxyColumns[count] = col;
+                        rowHasGalaxy[row] = true;
+                        columnHasGalaxy[col] = true;
+                        count++;
                     }
                 }
             }
-            return result;
+            this.galaxyCount = count;
+            this.emptyRowsBefore = countEmptinessBefore(rowHasGalaxy);
+            this.emptyColumnsBefore = countEmptinessBefore(columnHasGalaxy);
         }
 
-        private List<Integer> findEmptiness(boolean row) {
-            List<Integer> result = new ArrayList<>();
-            for (int i = 0; i < image.length; i++) {
-                boolean isEmpty = true;
-                for (int[] galaxy : galaxies) {
-                    if ((row && galaxy[0] == i) || (!row && galaxy[1] == i)) {
-                        isEmpty = false;
-                        break;
-                    }
-                }
-                if (isEmpty) {
-                    result.add(i);
-                }
+        private static int[] countEmptinessBefore(boolean[] hasGalaxy) {
+            int[] result = new int[hasGalaxy.length + 1];
+            for (int i = 0; i < hasGalaxy.length; i++) {
+                result[i + 1] = result[i] + (hasGalaxy[i] ? 0 : 1);
             }
             return result;
         }
     }
-}
\ No newline at end of file
+}
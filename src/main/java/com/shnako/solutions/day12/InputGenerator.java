@@ -0,0 +1,44 @@
+package com.shnako.solutions.day12;
+
+import com.shnako.solutions.InputGeneratorBase;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/*
+Generates rows of up to 20 springs with at least one damaged spring, then hides about half of them behind a ?.
+The groups are taken from the springs before hiding them, so every row has at least one arrangement.
+A real input has 1000 rows.
+ */
+public class InputGenerator extends InputGeneratorBase {
+    @Override
+    public void generate(int scale, Random random, PrintWriter out) {
+        for (int i = 0; i < 1000 * scale; i++) {
+            char[] springs = new char[randomBetween(random, 4, 20)];
+            for (int spring = 0; spring < springs.length; spring++) {
+                springs[spring] = random.nextInt(5) < 2 ? '#' : '.';
+            }
+            springs[random.nextInt(springs.length)] = '#';
+
+            List<String> groups = new ArrayList<>();
+            int groupSize = 0;
+            for (int spring = 0; spring <= springs.length; spring++) {
+                if (spring < springs.length && springs[spring] == '#') {
+                    groupSize++;
+                } else if (groupSize > 0) {
+                    groups.add(String.valueOf(groupSize));
+                    groupSize = 0;
+                }
+            }
+
+            for (int spring = 0; spring < springs.length; spring++) {
+                if (random.nextBoolean()) {
+                    springs[spring] = '?';
+                }
+            }
+            out.println(new String(springs) + " " + String.join(",", groups));
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /*
 Part 1:
@@ -23,30 +24,37 @@ The result is the sum of valid permutations for each input.
 public class Solution extends SolutionBase {
     @Override
     public String runPart1() throws IOException {
-        List<Pair<String, List<Integer>>> records = parseInput();
-        long result = records
-                .stream()
-                .mapToLong(record -> findPossibleArrangements(record, 0, -1, -1))
-                .sum();
-        return String.valueOf(result);
+        try (Stream<Pair<String, List<Integer>>> records = streamInput()) {
+            long result = records
+                    .mapToLong(this::findPossibleArrangementsForRecord)
+                    .sum();
+            return String.valueOf(result);
+        }
     }
 
     @Override
     public String runPart2() throws IOException {
-        List<Pair<String, List<Integer>>> records = parseInput();
-        long result = records
-                .stream()
-                .map(pair -> Pair.of(
-                        String.join("?", Collections.nCopies(5, pair.getLeft())),
-                        Collections.nCopies(5, pair.getRight()).stream().flatMap(List::stream).collect(Collectors.toList())
-                ))
-                .mapToLong(record -> findPossibleArrangementsMemoized(record, 0, -1, -1))
-                .sum();
-        return String.valueOf(result);
+        try (Stream<Pair<String, List<Integer>>> records = streamInput()) {
+            long result = records
+                    .map(pair -> Pair.of(
+                            String.join("?", Collections.nCopies(5, pair.getLeft())),
+                            Collections.nCopies(5, pair.getRight()).stream().flatMap(List::stream).collect(Collectors.toList())
+                    ))
+                    .mapToLong(this::findPossibleArrangementsForRecord)
+                    .sum();
+            return String.valueOf(result);
+        }
     }
 
     private final Map<MemoizationParameters, Long> cache = new HashMap<>();
 
+    // The memoization parameters contain the record, so cached results are only reused within the same record.
+    // Clearing the cache for every record therefore keeps the memory used constant, no matter how many records there are.
+    private long findPossibleArrangementsForRecord(Pair<String, List<Integer>> record) {
+        cache.clear();
+        return findPossibleArrangements(record, 0, -1, -1);
+    }
+
     private long findPossibleArrangementsMemoized(Pair<String, List<Integer>> record, int conditionIndex, int orderIndex, int remainingOrderCount) {
         var memoizationParameters = new MemoizationParameters(record, conditionIndex, orderIndex, remainingOrderCount);
         if (cache.containsKey(memoizationParameters)) {
@@ -101,11 +109,9 @@ public class Solution extends SolutionBase {
         }
     }
 
-    private List<Pair<String, List<Integer>>> parseInput() throws IOException {
-        return InputProcessingUtil.readInputLines(getDay())
-                .stream()
-                .map(this::parseInputLine)
-                .collect(Collectors.toList());
+    private Stream<Pair<String, List<Integer>>> streamInput() throws IOException {
+        return InputProcessingUtil.streamInputLines(getDay())
+                .map(this::parseInputLine);
     }
 
     private Pair<String, List<Integer>> parseInputLine(String line) {
@@ -0,0 +1,101 @@
+package com.shnako.solutions.day13;
+
+import com.shnako.solutions.InputGeneratorBase;
+
+import java.io.PrintWriter;
+import java.util.Random;
+
+/*
+Generates patterns with a perfect reflection and a second reflection that is off by a single smudge.
+Each pattern is built with a row reflection over its first rows and a column reflection over its first columns,
+then a cell in a row outside the row reflection is flipped, which smudges the column reflection only.
+Patterns that accidentally have other reflections are thrown away, so each has exactly one of each kind.
+Half the patterns are transposed, so the smudge is just as likely to be in the row reflection.
+A real input has 100 patterns.
+ */
+public class InputGenerator extends InputGeneratorBase {
+    @Override
+    public void generate(int scale, Random random, PrintWriter out) {
+        for (int i = 0; i < 100 * scale; i++) {
+            if (i > 0) {
+                out.println();
+            }
+            boolean[][] pattern;
+            do {
+                pattern = randomPattern(random);
+            } while (!hasSingleReflectionOfEachKind(pattern));
+            if (random.nextBoolean()) {
+                pattern = transpose(pattern);
+            }
+            for (boolean[] row : pattern) {
+                StringBuilder line = new StringBuilder(row.length);
+                for (boolean isRock : row) {
+                    line.append(isRock ? '#' : '.');
+                }
+                out.println(line);
+            }
+        }
+    }
+
+    private boolean[][] randomPattern(Random random) {
+        int height = randomBetween(random, 7, 17), width = randomBetween(random, 7, 17);
+        int rowReflection = randomBetween(random, 1, (height - 1) / 2);
+        int colReflection = randomBetween(random, 1, width / 2);
+
+        boolean[][] pattern = new boolean[height][width];
+        for (int row = 0; row < height; row++) {
+            if (row >= rowReflection && row < 2 * rowReflection) {
+                pattern[row] = pattern[2 * rowReflection - 1 - row].clone();
+                continue;
+            }
+            for (int col = 0; col < width; col++) {
+                pattern[row][col] = col >= colReflection && col < 2 * colReflection
+                        ? pattern[row][2 * colReflection - 1 - col]
+                        : random.nextBoolean();
+            }
+        }
+
+        int smudgeRow = randomBetween(random, 2 * rowReflection, height - 1);
+        int smudgeCol = random.nextInt(2 * colReflection);
+        pattern[smudgeRow][smudgeCol] = !pattern[smudgeRow][smudgeCol];
+        return pattern;
+    }
+
+    private boolean hasSingleReflectionOfEachKind(boolean[][] pattern) {
+        boolean[][] transposed = transpose(pattern);
+        int perfectReflections = 0, smudgedReflections = 0;
+        for (boolean[][] lines : new boolean[][][]{pattern, transposed}) {
+            for (int reflection = 1; reflection < lines.length; reflection++) {
+                int differences = countReflectionDifferences(lines, reflection);
+                if (differences == 0) {
+                    perfectReflections++;
+                } else if (differences == 1) {
+                    smudgedReflections++;
+                }
+            }
+        }
+        return perfectReflections == 1 && smudgedReflections == 1;
+    }
+
+    private int countReflectionDifferences(boolean[][] lines, int reflection) {
+        int differences = 0;
+        for (int before = reflection - 1, after = reflection; before >= 0 && after < lines.length; before--, after++) {
+            for (int i = 0; i < lines[before].length; i++) {
+                if (lines[before][i] != lines[after][i]) {
+                    differences++;
+                }
+            }
+        }
+        return differences;
+    }
+
+    private boolean[][] transpose(boolean[][] pattern) {
+        boolean[][] transposed = new boolean[pattern[0].length][pattern.length];
+        for (int row = 0; row < pattern.length; row++) {
+            for (int col = 0; col < pattern[0].length; col++) {
+                transposed[col][row] = pattern[row][col];
+            }
+        }
+        return transposed;
+    }
+}
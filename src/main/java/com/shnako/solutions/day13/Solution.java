@@ -2,13 +2,12 @@ package com.shnako.solutions.day13;
 
 import com.shnako.solutions.SolutionBase;
 import com.shnako.util.InputProcessingUtil;
-import org.apache.commons.lang3.StringUtils;
+import com.shnako.util.grid.Grid;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Objects;
+import java.util.stream.Stream;
 
 /*
 We start by parsing each desert into Pattern objects,
@@ -31,17 +30,18 @@ public class Solution extends SolutionBase {
 
     @Override
     public String runPart1() throws IOException {
-        List<Pattern> patterns = parseInput();
-
         int result = 0;
-        for (Pattern pattern : patterns) {
-            int reflectionIndexRow = findReflectionIndexRow(pattern);
-            if (reflectionIndexRow >= 0) {
-                result += (reflectionIndexRow + 1) * 100;
-            }
-            int reflectionIndexCol = findReflectionIndexCol(pattern);
-            if (reflectionIndexCol >= 0) {
-                result += reflectionIndexCol + 1;
+        try (Stream<Pattern> patterns = streamInput()) {
+            for (Iterator<Pattern> iterator = patterns.iterator(); iterator.hasNext(); ) {
+                Pattern pattern = iterator.next();
+                int reflectionIndexRow = findReflectionIndexRow(pattern);
+                if (reflectionIndexRow >= 0) {
+                    result += (reflectionIndexRow + 1) * 100;
+                }
+                int reflectionIndexCol = findReflectionIndexCol(pattern);
+                if (reflectionIndexCol >= 0) {
+                    result += reflectionIndexCol + 1;
+                }
             }
         }
 
@@ -51,7 +51,7 @@ public class Solution extends SolutionBase {
     // region Part 1 row checks
 
     private int findReflectionIndexRow(Pattern pattern) {
-        for (int i = 0; i < pattern.desert.length - 1; i++) {
+        for (int i = 0; i < pattern.desert.height() - 1; i++) {
             if (isValidRowReflectionAtIndex(pattern, i)) {
                 return i;
             }
@@ -60,8 +60,8 @@ public class Solution extends SolutionBase {
     }
 
     private boolean isValidRowReflectionAtIndex(Pattern pattern, int reflectionRowIndex) {
-        for (int i = 0; reflectionRowIndex - i >= 0 && reflectionRowIndex + i < pattern.rowHashes.size() - 1; i++) {
-            if (!Objects.equals(pattern.rowHashes.get(reflectionRowIndex - i), pattern.rowHashes.get(reflectionRowIndex + i + 1))) {
+        for (int i = 0; reflectionRowIndex - i >= 0 && reflectionRowIndex + i < pattern.rowHashes.length - 1; i++) {
+            if (pattern.rowHashes[reflectionRowIndex - i] != pattern.rowHashes[reflectionRowIndex + i + 1]) {
                 return false;
             }
         }
@@ -73,7 +73,7 @@ public class Solution extends SolutionBase {
     // region Part 1 column checks
 
     private int findReflectionIndexCol(Pattern pattern) {
-        for (int i = 0; i < pattern.desert[0].length - 1; i++) {
+        for (int i = 0; i < pattern.desert.width() - 1; i++) {
             if (isValidColReflectionAtIndex(pattern, i)) {
                 return i;
             }
@@ -82,8 +82,8 @@ public class Solution extends SolutionBase {
     }
 
     private boolean isValidColReflectionAtIndex(Pattern pattern, int reflectionColIndex) {
-        for (int i = 0; reflectionColIndex - i >= 0 && reflectionColIndex + i < pattern.columnHashes.size() - 1; i++) {
-            if (!Objects.equals(pattern.columnHashes.get(reflectionColIndex - i), pattern.columnHashes.get(reflectionColIndex + i + 1))) {
+        for (int i = 0; reflectionColIndex - i >= 0 && reflectionColIndex + i < pattern.columnHashes.length - 1; i++) {
+            if (pattern.columnHashes[reflectionColIndex - i] != pattern.columnHashes[reflectionColIndex + i + 1]) {
                 return false;
             }
         }
@@ -97,16 +97,17 @@ public class Solution extends SolutionBase {
     // region Part 2
     @Override
     public String runPart2() throws IOException {
-        List<Pattern> patterns = parseInput();
-
         int result = 0;
-        for (Pattern pattern : patterns) {
-            int offByOneIndex = findReflectionIndexRowToleratingOneFailure(pattern);
-            if (offByOneIndex >= 0) {
-                result += 100 * (offByOneIndex + 1);
-            } else {
-                offByOneIndex = findReflectionIndexColumnToleratingOneFailure(pattern);
-                result += offByOneIndex + 1;
+        try (Stream<Pattern> patterns = streamInput()) {
+            for (Iterator<Pattern> iterator = patterns.iterator(); iterator.hasNext(); ) {
+                Pattern pattern = iterator.next();
+                int offByOneIndex = findReflectionIndexRowToleratingOneFailure(pattern);
+                if (offByOneIndex >= 0) {
+                    result += 100 * (offByOneIndex + 1);
+                } else {
+                    offByOneIndex = findReflectionIndexColumnToleratingOneFailure(pattern);
+                    result += offByOneIndex + 1;
+                }
             }
         }
 
@@ -116,7 +117,7 @@ public class Solution extends SolutionBase {
     // region Part 2 row checks
 
     private int findReflectionIndexRowToleratingOneFailure(Pattern pattern) {
-        for (int i = 0; i < pattern.desert.length - 1; i++) {
+        for (int i = 0; i < pattern.desert.height() - 1; i++) {
             if (isValidRowReflectionAtIndexToleratingOneFailure(pattern, i)) {
                 return i;
             }
@@ -126,10 +127,10 @@ public class Solution extends SolutionBase {
 
     private boolean isValidRowReflectionAtIndexToleratingOneFailure(Pattern pattern, int reflectionRowIndex) {
         int[] failureIndexes = null;
-        for (int i = 0; reflectionRowIndex - i >= 0 && reflectionRowIndex + i < pattern.rowHashes.size() - 1; i++) {
+        for (int i = 0; reflectionRowIndex - i >= 0 && reflectionRowIndex + i < pattern.rowHashes.length - 1; i++) {
             int indexA = reflectionRowIndex - i;
             int indexB = reflectionRowIndex + i + 1;
-            if (!Objects.equals(pattern.rowHashes.get(indexA), pattern.rowHashes.get(indexB))) {
+            if (pattern.rowHashes[indexA] != pattern.rowHashes[indexB]) {
                 if (failureIndexes != null) {
                     return false;
                 } else {
@@ -142,8 +143,8 @@ public class Solution extends SolutionBase {
 
     private boolean areRowsOffByExactlyOne(Pattern pattern, int[] indexes) {
         boolean failureFound = false;
-        for (int i = 0; i < pattern.desert[0].length; i++) {
-            if (pattern.desert[indexes[0]][i] != pattern.desert[indexes[1]][i]) {
+        for (int i = 0; i < pattern.desert.width(); i++) {
+            if (pattern.desert.get(indexes[0], i) != pattern.desert.get(indexes[1], i)) {
                 if (failureFound) {
                     return false;
                 } else {
@@ -159,7 +160,7 @@ public class Solution extends SolutionBase {
     // region Part 2 column checks
 
     private int findReflectionIndexColumnToleratingOneFailure(Pattern pattern) {
-        for (int i = 0; i < pattern.desert[0].length - 1; i++) {
+        for (int i = 0; i < pattern.desert.width() - 1; i++) {
             if (isValidColumnReflectionAtIndexToleratingOneFailure(pattern, i)) {
                 return i;
             }
@@ -169,10 +170,10 @@ public class Solution extends SolutionBase {
 
     private boolean isValidColumnReflectionAtIndexToleratingOneFailure(Pattern pattern, int reflectionColIndex) {
         int[] failureIndexes = null;
-        for (int i = 0; reflectionColIndex - i >= 0 && reflectionColIndex + i < pattern.columnHashes.size() - 1; i++) {
+        for (int i = 0; reflectionColIndex - i >= 0 && reflectionColIndex + i < pattern.columnHashes.length - 1; i++) {
             int indexA = reflectionColIndex - i;
             int indexB = reflectionColIndex + i + 1;
-            if (!Objects.equals(pattern.columnHashes.get(indexA), pattern.columnHashes.get(indexB))) {
+            if (pattern.columnHashes[indexA] != pattern.columnHashes[indexB]) {
                 if (failureIndexes != null) {
                     return false;
                 } else {
@@ -185,8 +186,8 @@ public class Solution extends SolutionBase {
 
     private boolean areColumnsOffByExactlyOne(Pattern pattern, int[] indexes) {
         boolean failureFound = false;
-        for (int i = 0; i < pattern.desert.length; i++) {
-            if (pattern.desert[i][indexes[0]] != pattern.desert[i][indexes[1]]) {
+        for (int i = 0; i < pattern.desert.height(); i++) {
+            if (pattern.desert.get(i, indexes[0]) != pattern.desert.get(i, indexes[1])) {
                 if (failureFound) {
                     return false;
                 } else {
@@ -203,44 +204,30 @@ public class Solution extends SolutionBase {
 
     // region Input processing
 
-    private List<Pattern> parseInput() throws IOException {
-        List<String> input = InputProcessingUtil.readInputLines(getDay());
-        int startIndex = 0;
-        List<Pattern> result = new ArrayList<>();
-        for (int i = 0; i < input.size(); i++) {
-            if (StringUtils.isBlank(input.get(i))) {
-                result.add(parsePattern(input.subList(startIndex, i)));
-                startIndex = i + 1;
-            }
-        }
-        result.add(parsePattern(input.subList(startIndex, input.size())));
-        return result;
+    // The patterns are parsed as they're read, so only the pattern being checked is kept in memory.
+    private Stream<Pattern> streamInput() throws IOException {
+        return InputProcessingUtil.streamInputBlocks(getDay())
+                .map(this::parsePattern);
     }
 
     private Pattern parsePattern(List<String> patternInput) {
-        char[][] patternChars = patternInput
-                .stream()
-                .map(String::toCharArray)
-                .toArray(char[][]::new);
-
-        List<Integer> rowHashes = Arrays.stream(patternChars)
-                .map(Arrays::hashCode)
-                .toList();
-
-        List<Integer> columnHashes = new ArrayList<>();
-        for (int col = 0; col < patternChars[0].length; col++) {
-            char[] columnElements = new char[patternChars.length];
-            for (int row = 0; row < patternChars.length; row++) {
-                columnElements[row] = patternChars[row][col];
+        Grid desert = Grid.of(patternInput);
+
+        int[] rowHashes = new int[desert.height()];
+        int[] columnHashes = new int[desert.width()];
+        for (int row = 0; row < desert.height(); row++) {
+            for (int col = 0; col < desert.width(); col++) {
+                byte element = desert.get(row, col);
+                rowHashes[row] = 31 * rowHashes[row] + element;
+                columnHashes[col] = 31 * columnHashes[col] + element;
             }
-            columnHashes.add(Arrays.hashCode(columnElements));
         }
 
-        return new Pattern(patternChars, rowHashes, columnHashes);
+        return new Pattern(desert, rowHashes, columnHashes);
     }
 
     // endregion
 
-    private record Pattern(char[][] desert, List<Integer> rowHashes, List<Integer> columnHashes) {
+    private record Pattern(Grid desert, int[] rowHashes, int[] columnHashes) {
     }
 }
\ No newline at end of file
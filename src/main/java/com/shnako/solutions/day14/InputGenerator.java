@@ -0,0 +1,25 @@
+package com.shnako.solutions.day14;
+
+import com.shnako.solutions.InputGeneratorBase;
+
+import java.io.PrintWriter;
+import java.util.Random;
+
+/*
+Generates a square platform with about 20% rounded rocks and 10% cube-shaped rocks.
+A real input is 100 by 100.
+ */
+public class InputGenerator extends InputGeneratorBase {
+    @Override
+    public void generate(int scale, Random random, PrintWriter out) {
+        int side = scaleSide(100, scale);
+        char[] row = new char[side];
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                int roll = random.nextInt(10);
+                row[c] = roll < 2 ? 'O' : roll < 3 ? '#' : '.';
+            }
+            out.println(row);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.shnako.solutions.day15;
+
+import com.shnako.solutions.InputGeneratorBase;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/*
+Generates a single line of steps, each adding a lens with a focal length between 1 and 9 or removing one.
+The labels are drawn from a pool, so the same lenses are added and removed many times.
+A real input has 4000 steps and about 500 labels.
+ */
+public class InputGenerator extends InputGeneratorBase {
+    @Override
+    public void generate(int scale, Random random, PrintWriter out) {
+        List<String> labels = new ArrayList<>();
+        for (int i = 0; i < 500 * scale; i++) {
+            StringBuilder label = new StringBuilder();
+            for (int letter = randomBetween(random, 2, 6); letter > 0; letter--) {
+                label.append((char) ('a' + random.nextInt(26)));
+            }
+            labels.add(label.toString());
+        }
+
+        StringBuilder steps = new StringBuilder();
+        for (int i = 0; i < 4000 * scale; i++) {
+            if (i > 0) {
+                steps.append(',');
+            }
+            steps.append(labels.get(random.nextInt(labels.size())));
+            if (random.nextInt(3) == 0) {
+                steps.append('-');
+            } else {
+                steps.append('=').append(randomBetween(random, 1, 9));
+            }
+        }
+        out.println(steps);
+    }
+}
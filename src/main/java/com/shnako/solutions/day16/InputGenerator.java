@@ -0,0 +1,26 @@
+package com.shnako.solutions.day16;
+
+import com.shnako.solutions.InputGeneratorBase;
+
+import java.io.PrintWriter;
+import java.util.Random;
+
+/*
+Generates a square contraption that is about 90% empty space, with the rest split evenly between mirrors and splitters.
+A real input is 110 by 110.
+ */
+public class InputGenerator extends InputGeneratorBase {
+    private static final String DEVICES = "/\\|-";
+
+    @Override
+    public void generate(int scale, Random random, PrintWriter out) {
+        int side = scaleSide(110, scale);
+        char[] row = new char[side];
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                row[c] = random.nextInt(10) == 0 ? DEVICES.charAt(random.nextInt(DEVICES.length())) : '.';
+            }
+            out.println(row);
+        }
+    }
+}
@@ -1,136 +1,133 @@
 package com.shnako.solutions.day16;
 
 import com.shnako.solutions.SolutionBase;
-import com.shnako.util.InputProcessingUtil;
-import org.apache.commons.lang3.tuple.Pair;
+import com.shnako.util.grid.CellSet;
+import com.shnako.util.grid.Direction;
+import com.shnako.util.grid.Grid;
 
 import java.io.IOException;
-import java.util.*;
-import java.util.stream.Collectors;
 
-import static com.shnako.solutions.day16.Solution.Direction.*;
+import static com.shnako.util.grid.Direction.*;
 
 /*
 We store the directions we can go in at each point, based on the current tile and incoming direction in BEAM_DIRECTIONS.
-We use the above to simulate the beam movements using a DFS algorithm.
-There are cycles in the layouts, so we keep a list of beams we've already seen to detect cycles.
-The number of energised tiles is calculated by extracting the unique tiles crossed by beams.
+We use the above to simulate the beam movements using a DFS algorithm, keeping the beams still to move on a stack.
+There are cycles in the layouts, so we keep a set of beams we've already seen to detect cycles.
+A beam is identified by its tile and direction, so the set is a bitset with 4 entries per tile.
+The number of energised tiles is the number of unique tiles crossed by beams, which we keep in a second set.
 
 Part 1:
 We start from the tile at location [-1, 0] moving east.
 The result is the number of energised tiles.
 
 Part 2:
-We generate a list of beams from all tiles around the layout moving inward and calculate the number of energised tiles.
+We generate beams from all tiles around the layout moving inward and calculate the number of energised tiles.
 The result is the maximum number of energised tiles.
  */
 public class Solution extends SolutionBase {
-    private Set<Beam> beamMoves;
-
-    private static final Map<Character, Map<Direction, List<Direction>>> BEAM_DIRECTIONS = Map.of(
-            '.', Map.of(
-                    N, List.of(N),
-                    W, List.of(W),
-                    S, List.of(S),
-                    E, List.of(E)),
-            '/', Map.of(
-                    N, List.of(E),
-                    W, List.of(S),
-                    S, List.of(W),
-                    E, List.of(N)),
-            '\\', Map.of(
-                    N, List.of(W),
-                    W, List.of(N),
-                    S, List.of(E),
-                    E, List.of(S)),
-            '-', Map.of(
-                    N, List.of(W, E),
-                    W, List.of(W),
-                    S, List.of(W, E),
-                    E, List.of(E)),
-            '|', Map.of(
-                    N, List.of(N),
-                    W, List.of(N, S),
-                    S, List.of(S),
-                    E, List.of(N, S)
-            )
-    );
-
-    @Override
-    public String runPart1() throws IOException {
-        char[][] layout = InputProcessingUtil.readCharGrid(getDay());
-        Beam beam = new Beam(0, -1, E);
-        int result = findEnergisedTiles(layout, beam);
-        return String.valueOf(result);
-    }
-
-    @SuppressWarnings("SuspiciousNameCombination")
-    private int findEnergisedTiles(char[][] layout, Beam beam) {
-        beamMoves = new HashSet<>();
-        move(layout, beam);
-        return beamMoves.stream()
-                .map(bm -> Pair.of(bm.x, bm.y))
-                .collect(Collectors.toSet())
-                .size();
+    private static final int DIRECTIONS = Direction.values().length;
+
+    // The next directions, indexed by the tile and the ordinal of the incoming direction.
+    private static final Direction[][][] BEAM_DIRECTIONS = new Direction[128][][];
+
+    static {
+        BEAM_DIRECTIONS['.'] = beamDirections(
+                new Direction[]{N},
+                new Direction[]{E},
+                new Direction[]{S},
+                new Direction[]{W});
+        BEAM_DIRECTIONS['/'] = beamDirections(
+                new Direction[]{E},
+                new Direction[]{N},
+                new Direction[]{W},
+                new Direction[]{S});
+        BEAM_DIRECTIONS['\\'] = beamDirections(
+                new Direction[]{W},
+                new Direction[]{S},
+                new Direction[]{E},
+                new Direction[]{N});
+        BEAM_DIRECTIONS['-'] = beamDirections(
+                new Direction[]{W, E},
+                new Direction[]{E},
+                new Direction[]{W, E},
+                new Direction[]{W});
+        BEAM_DIRECTIONS['|'] = beamDirections(
+                new Direction[]{N},
+                new Direction[]{N, S},
+                new Direction[]{S},
+                new Direction[]{N, S});
     }
 
-    private void move(char[][] layout, Beam beam) {
-        int nextX = beam.x + beam.direction.x;
-        int nextY = beam.y + beam.direction.y;
-        if (nextX < 0 || nextY < 0 || nextX >= layout.length || nextY >= layout[0].length) {
-            return;
-        }
-
-        for (Direction nextDirection : BEAM_DIRECTIONS.get(layout[nextX][nextY]).get(beam.direction)) {
-            Beam nextBeam = new Beam(nextX, nextY, nextDirection);
-            if (!beamMoves.contains(nextBeam)) {
-                beamMoves.add(nextBeam);
-                move(layout, nextBeam);
-            }
-        }
+    private static Direction[][] beamDirections(Direction[] north, Direction[] east, Direction[] south, Direction[] west) {
+        Direction[][] result = new Direction[DIRECTIONS][];
+        result[N.ordinal()] = north;
+        result[E.ordinal()] = east;
+        result[S.ordinal()] = south;
+        result[W.ordinal()] = west;
+        return result;
     }
 
     @Override
-    @SuppressWarnings("OptionalGetWithoutIsPresent")
-    public String runPart2() throws IOException {
-        char[][] layout = InputProcessingUtil.readCharGrid(getDay());
-        int result = getStartingBeams(layout)
-                .stream()
-                .mapToInt(beam -> findEnergisedTiles(layout, beam))
-                .max()
-                .getAsInt();
+    public String runPart1() throws IOException {
+        Grid layout = Grid.read(getDay());
+        int result = new BeamTracer(layout).findEnergisedTiles(layout.cell(0, -1), E);
         return String.valueOf(result);
     }
 
-    private List<Beam> getStartingBeams(char[][] layout) {
-        List<Beam> result = new ArrayList<>();
-        for (int i = 0; i < layout.length; i++) {
-            result.add(new Beam(i, -1, E));
-            result.add(new Beam(i, layout[i].length, W));
+    @Override
+    public String runPart2() throws IOException {
+        Grid layout = Grid.read(getDay());
+        BeamTracer beamTracer = new BeamTracer(layout);
+        int result = 0;
+        for (int i = 0; i < layout.height(); i++) {
+            result = Math.max(result, beamTracer.findEnergisedTiles(layout.cell(i, -1), E));
+            result = Math.max(result, beamTracer.findEnergisedTiles(layout.cell(i, layout.width()), W));
         }
-        for (int i = 0; i < layout[0].length; i++) {
-            result.add(new Beam(-1, i, S));
-            result.add(new Beam(layout.length, i, N));
+        for (int i = 0; i < layout.width(); i++) {
+            result = Math.max(result, beamTracer.findEnergisedTiles(layout.cell(-1, i), S));
+            result = Math.max(result, beamTracer.findEnergisedTiles(layout.cell(layout.height(), i), N));
         }
-        return result;
-    }
-
-    private record Beam(int x, int y, Direction direction) {
+        return String.valueOf(result);
     }
 
-    enum Direction {
-        // x and y represent the coordinate deltas when moving in each direction.
-        N(-1, 0),
-        W(0, -1),
-        S(1, 0),
-        E(0, 1);
-
-        private final int x;
-        private final int y;
+    // Keeps the sets and stack between runs, so tracing beams from many starting points doesn't allocate.
+    private static class BeamTracer {
+        private final Grid layout;
+        private final CellSet beamMoves;
+        private final CellSet energisedTiles;
+        private final int[] beamStack;
+
+        private BeamTracer(Grid layout) {
+            this.layout = layout;
+            this.beamMoves = new CellSet(layout.size() * DIRECTIONS);
+            this.energisedTiles = new CellSet(layout.size());
+            this.beamStack = new int[layout.size() * DIRECTIONS];
+        }
 
-        Direction(int x, int y) {
-            this.x = x;
-            this.y = y;
+        // A beam is stored as its tile cell and direction packed in an int.
+        private int findEnergisedTiles(int startCell, Direction startDirection) {
+            beamMoves.clear();
+            energisedTiles.clear();
+            int stackSize = 0;
+            beamStack[stackSize++] = startCell * DIRECTIONS + startDirection.ordinal();
+
+            while (stackSize > 0) {
+                int beam = beamStack[--stackSize];
+                Direction direction = Direction.of(beam % DIRECTIONS);
+                int nextCell = layout.neighbour(beam / DIRECTIONS, direction);
+                if (layout.isBorder(nextCell)) {
+                    continue;
+                }
+
+                for (Direction nextDirection : BEAM_DIRECTIONS[layout.get(nextCell)][direction.ordinal()]) {
+                    int nextBeam = nextCell * DIRECTIONS + nextDirection.ordinal();
+                    if (beamMoves.add(nextBeam)) {
+                        energisedTiles.add(nextCell);
+                        beamStack[stackSize++] = nextBeam;
+                    }
+                }
+            }
+            return energisedTiles.size();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,24 @@
+package com.shnako.solutions.day17;
+
+import com.shnako.solutions.InputGeneratorBase;
+
+import java.io.PrintWriter;
+import java.util.Random;
+
+/*
+Generates a square map of random heat losses between 1 and 9.
+A real input is 141 by 141.
+ */
+public class InputGenerator extends InputGeneratorBase {
+    @Override
+    public void generate(int scale, Random random, PrintWriter out) {
+        int side = scaleSide(141, scale);
+        char[] row = new char[side];
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                row[c] = (char) ('1' + random.nextInt(9));
+            }
+            out.println(row);
+        }
+    }
+}
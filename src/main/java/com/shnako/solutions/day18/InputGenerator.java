@@ -0,0 +1,73 @@
+package com.shnako.solutions.day18;
+
+import com.shnako.solutions.InputGeneratorBase;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/*
+Generates a dig plan where both the instructions and the colour codes dig out a lagoon that never crosses itself.
+Each lagoon is a row of columns dug left to right along a jagged top edge and back right to left along a jagged bottom edge,
+with every top edge above every bottom edge, so the edges can never meet.
+The colour code lagoon uses much larger lengths, kept small enough for its area to fit into a long.
+A real input has about 700 instructions.
+ */
+public class InputGenerator extends InputGeneratorBase {
+    private static final String DIRECTIONS = "RDLU";
+
+    @Override
+    public void generate(int scale, Random random, PrintWriter out) {
+        int columns = 175 * scale;
+        int maxColourLength = Math.min(200_000, 1_000_000_000 / columns);
+        List<Instruction> instructions = generateLagoon(columns, 1, 10, 11, 20, 0, 9, random);
+        List<Instruction> colours = generateLagoon(columns, 1, maxColourLength,
+                300_000, 500_000, -500_000, -300_000, random);
+
+        for (int i = 0; i < instructions.size(); i++) {
+            Instruction instruction = instructions.get(i), colour = colours.get(i);
+            out.printf("%c %d (#%05x%d)%n", instruction.direction, instruction.length,
+                    colour.length, DIRECTIONS.indexOf(colour.direction));
+        }
+    }
+
+    private List<Instruction> generateLagoon(int columns, int minWidth, int maxWidth, int minTop, int maxTop,
+                                             int minBottom, int maxBottom, Random random) {
+        int[] widths = new int[columns], tops = new int[columns], bottoms = new int[columns];
+        for (int column = 0; column < columns; column++) {
+            widths[column] = randomBetween(random, minWidth, maxWidth);
+            // Neighbouring columns never have the same height, so every instruction digs at least 1 metre.
+            do {
+                tops[column] = randomBetween(random, minTop, maxTop);
+            } while (column > 0 && tops[column] == tops[column - 1]);
+            do {
+                bottoms[column] = randomBetween(random, minBottom, maxBottom);
+            } while (column > 0 && bottoms[column] == bottoms[column - 1]);
+        }
+
+        List<Instruction> instructions = new ArrayList<>(4 * columns);
+        instructions.add(new Instruction('U', tops[0] - bottoms[0]));
+        for (int column = 0; column < columns; column++) {
+            instructions.add(new Instruction('R', widths[column]));
+            if (column < columns - 1) {
+                instructions.add(verticalInstruction(tops[column], tops[column + 1]));
+            }
+        }
+        instructions.add(new Instruction('D', tops[columns - 1] - bottoms[columns - 1]));
+        for (int column = columns - 1; column >= 0; column--) {
+            instructions.add(new Instruction('L', widths[column]));
+            if (column > 0) {
+                instructions.add(verticalInstruction(bottoms[column], bottoms[column - 1]));
+            }
+        }
+        return instructions;
+    }
+
+    private Instruction verticalInstruction(int from, int to) {
+        return to > from ? new Instruction('U', to - from) : new Instruction('D', from - to);
+    }
+
+    private record Instruction(char direction, int length) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.shnako.solutions.day19;
+
+import com.shnako.solutions.InputGeneratorBase;
+
+import java.io.PrintWriter;
+import java.util.*;
+
+/*
+Generates workflows that form a tree starting from the in workflow, so every part ends up accepted or rejected,
+followed by parts with random ratings between 1 and 4000.
+A real input has about 550 workflows and 200 parts.
+ */
+public class InputGenerator extends InputGeneratorBase {
+    private static final String CATEGORIES = "xmas";
+
+    @Override
+    public void generate(int scale, Random random, PrintWriter out) {
+        int workflowCount = 550 * scale;
+        List<String> workflows = new ArrayList<>(workflowCount);
+        Queue<String> workflowsToDefine = new ArrayDeque<>(List.of("in"));
+        int[] nextNameIndex = new int[]{0};
+        int definedWorkflows = 1;
+
+        while (!workflowsToDefine.isEmpty()) {
+            String name = workflowsToDefine.poll();
+            int conditions = randomBetween(random, 1, 3);
+            List<String> rules = new ArrayList<>(conditions + 1);
+            for (int rule = 0; rule <= conditions; rule++) {
+                // The last rule of the last workflow left to define always leads to a new one, until there are enough.
+                boolean mustContinue = rule == conditions && workflowsToDefine.isEmpty();
+                String target;
+                if (definedWorkflows < workflowCount && (mustContinue || random.nextInt(10) < 6)) {
+                    target = nextWorkflowName(nextNameIndex);
+                    workflowsToDefine.add(target);
+                    definedWorkflows++;
+                } else {
+                    target = random.nextBoolean() ? "A" : "R";
+                }
+
+                if (rule < conditions) {
+                    char category = CATEGORIES.charAt(random.nextInt(CATEGORIES.length()));
+                    char operator = random.nextBoolean() ? '<' : '>';
+                    rules.add(category + "" + operator + randomBetween(random, 1, 4000) + ":" + target);
+                } else {
+                    rules.add(target);
+                }
+            }
+            workflows.add(name + "{" + String.join(",", rules) + "}");
+        }
+
+        Collections.shuffle(workflows, random);
+        workflows.forEach(out::println);
+        out.println();
+        for (int part = 0; part < 200 * scale; part++) {
+            out.printf("{x=%d,m=%d,a=%d,s=%d}%n", randomBetween(random, 1, 4000), randomBetween(random, 1, 4000),
+                    randomBetween(random, 1, 4000), randomBetween(random, 1, 4000));
+        }
+    }
+
+    private String nextWorkflowName(int[] nextNameIndex) {
+        String name;
+        do {
+            name = lowercaseName(nextNameIndex[0]++, 2);
+        } while (name.equals("in"));
+        return name;
+    }
+}
@@ -30,7 +30,7 @@ public class Solution extends SolutionBase {
 
     @Override
     public String runPart1() throws IOException {
-        Pair<Map<String, List<Condition>>, List<Part>> input = parseInput();
+        Pair<Map<String, List<Condition>>, List<Part>> input = getParsedInput("workflowsAndParts", this::parseInput);
         Map<String, List<Condition>> workflows = input.getLeft();
         List<Part> parts = input.getRight();
         int result = parts.stream()
@@ -61,7 +61,7 @@ public class Solution extends SolutionBase {
 
     @Override
     public String runPart2() throws IOException {
-        Pair<Map<String, List<Condition>>, List<Part>> input = parseInput();
+        Pair<Map<String, List<Condition>>, List<Part>> input = getParsedInput("workflowsAndParts", this::parseInput);
         Map<String, List<Condition>> workflows = input.getLeft();
         PartInterval fullInterval = new PartInterval(1, 4000, 1, 4000, 1, 4000, 1, 4000, null, null);
         List<PartInterval> splitIntervals = splitByWorkflows(fullInterval, workflows, workflows.get("in"));
@@ -0,0 +1,74 @@
+package com.shnako.solutions.day20;
+
+import com.shnako.solutions.InputGeneratorBase;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/*
+Generates a broadcaster that starts a number of 12-bit counters, each counting button presses up to its own odd number.
+Each counter is a chain of flip-flops with a conjunction that resets it once it reaches its number,
+which sends a pulse through an inverter conjunction to the conjunction in front of rx.
+A real input has 4 counters.
+ */
+public class InputGenerator extends InputGeneratorBase {
+    private static final int BITS = 12;
+
+    @Override
+    public void generate(int scale, Random random, PrintWriter out) {
+        int counters = 4 * scale;
+        int[] nextNameIndex = new int[]{0};
+        String output = nextModuleName(nextNameIndex);
+
+        List<String> modules = new ArrayList<>();
+        List<String> counterStarts = new ArrayList<>(counters);
+        for (int counter = 0; counter < counters; counter++) {
+            int countTo = randomBetween(random, (1 << (BITS - 1)) + 1, (1 << BITS) - 1) | 1;
+            List<String> flipFlops = new ArrayList<>(BITS);
+            for (int bit = 0; bit < BITS; bit++) {
+                flipFlops.add(nextModuleName(nextNameIndex));
+            }
+            String resetter = nextModuleName(nextNameIndex);
+            String inverter = nextModuleName(nextNameIndex);
+            counterStarts.add(flipFlops.get(0));
+
+            List<String> resetterDestinations = new ArrayList<>(List.of(inverter, flipFlops.get(0)));
+            for (int bit = 0; bit < BITS; bit++) {
+                List<String> destinations = new ArrayList<>(2);
+                if (bit < BITS - 1) {
+                    destinations.add(flipFlops.get(bit + 1));
+                }
+                if ((countTo & (1 << bit)) != 0) {
+                    destinations.add(resetter);
+                } else {
+                    resetterDestinations.add(flipFlops.get(bit));
+                }
+                modules.add(formatModule("%" + flipFlops.get(bit), destinations, random));
+            }
+            modules.add(formatModule("&" + resetter, resetterDestinations, random));
+            modules.add(formatModule("&" + inverter, List.of(output), random));
+        }
+        modules.add(formatModule("&" + output, List.of("rx"), random));
+        modules.add(formatModule("broadcaster", counterStarts, random));
+
+        Collections.shuffle(modules, random);
+        modules.forEach(out::println);
+    }
+
+    private String nextModuleName(int[] nextNameIndex) {
+        String name;
+        do {
+            name = lowercaseName(nextNameIndex[0]++, 2);
+        } while (name.equals("rx"));
+        return name;
+    }
+
+    private String formatModule(String module, List<String> destinations, Random random) {
+        List<String> shuffledDestinations = new ArrayList<>(destinations);
+        Collections.shuffle(shuffledDestinations, random);
+        return module + " -> " + String.join(", ", shuffledDestinations);
+    }
+}
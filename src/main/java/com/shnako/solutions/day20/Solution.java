@@ -2,14 +2,14 @@ package com.shnako.solutions.day20;
 
 import com.shnako.solutions.SolutionBase;
 import com.shnako.util.InputProcessingUtil;
+import com.shnako.util.IntQueue;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /*
 We represent pulses as boolean objects, with high pulses as true and low pulses as false.
@@ -17,8 +17,9 @@ We've implemented this in an object-oriented way, storing the input using a Modu
 extended by FlipFlopModule, ConjunctionModule and BroadcasterModule, each implementing its custom operations.
 Because we need to process each module's pulses before processing the pulses those pulses caused,
 we need to use a BFS algorithm.
-For each module, we store all its upcoming pulses in a queue.
-We then store each upcoming module in another queue.
+Each module is numbered, so both the modules and the pulses can be stored as ints.
+For each module, we store all its upcoming pulses in a queue, as the number of the sending module and the pulse type.
+We then store the number of each upcoming module in another queue.
 Everytime we take a module off the queue, we process its pulses and add them to both queues,
 continuing until the modules queue is empty, which means the button press has caused all its effects.
 We use global variables as passing all the variables as parameters would be too messy.
@@ -36,10 +37,14 @@ We can then find how many button presses it takes for each of the grandparents t
 The result is therefore the LCM of the grandparents' cycles.
  */
 public class Solution extends SolutionBase {
+    // The button isn't a module, so it's numbered after all the modules.
+    private static final int BUTTON = Integer.MAX_VALUE / 2;
+
     private int part;
     private Map<String, Module> modules;
-    private Map<Boolean, Long> pulseCounter;
-    private LinkedList<Module> moduleProcessingQueue;
+    private List<Module> modulesByNumber;
+    private long[] pulseCounter;
+    private IntQueue moduleProcessingQueue;
     private List<String> grandparentsOfOutput;
     private Map<String, Integer> foundCycleLengths;
     private int buttonPress;
@@ -48,22 +53,16 @@ public class Solution extends SolutionBase {
     public String runPart1() throws IOException {
         part = 1;
         modules = parseInput();
-        pulseCounter = new HashMap<>() {{
-            put(false, 0L);
-            put(true, 0L);
-        }};
-        moduleProcessingQueue = new LinkedList<>();
+        pulseCounter = new long[2];
+        moduleProcessingQueue = new IntQueue();
 
         for (buttonPress = 1; buttonPress <= 1000; buttonPress++) {
-            modules.get("broadcaster").addPulseToQueue(new Pulse(false, "button"));
-            pulseCounter.put(false, pulseCounter.get(false) + 1);
-            while (!moduleProcessingQueue.isEmpty()) {
-                Module module = moduleProcessingQueue.pop();
-                module.processPulse();
-            }
+            modules.get("broadcaster").addPulseToQueue(false, BUTTON);
+            pulseCounter[0]++;
+            processPulses();
         }
 
-        long result = pulseCounter.get(false) * pulseCounter.get(true);
+        long result = pulseCounter[0] * pulseCounter[1];
         return String.valueOf(result);
     }
 
@@ -72,16 +71,13 @@ public class Solution extends SolutionBase {
         part = 2;
         modules = parseInput();
 
-        moduleProcessingQueue = new LinkedList<>();
+        moduleProcessingQueue = new IntQueue();
         grandparentsOfOutput = findGrandparentsOfRx();
         foundCycleLengths = new HashMap<>(grandparentsOfOutput.size());
 
         for (buttonPress = 1; grandparentsOfOutput.size() != foundCycleLengths.size(); buttonPress++) {
-            modules.get("broadcaster").addPulseToQueue(new Pulse(false, "button"));
-            while (!moduleProcessingQueue.isEmpty()) {
-                Module module = moduleProcessingQueue.pop();
-                module.processPulse();
-            }
+            modules.get("broadcaster").addPulseToQueue(false, BUTTON);
+            processPulses();
         }
         BigInteger result = foundCycleLengths.values()
                 .stream()
@@ -91,6 +87,13 @@ public class Solution extends SolutionBase {
         return String.valueOf(result);
     }
 
+    private void processPulses() {
+        while (!moduleProcessingQueue.isEmpty()) {
+            Module module = modulesByNumber.get(moduleProcessingQueue.poll());
+            module.processPulse();
+        }
+    }
+
     public BigInteger lcm(BigInteger number1, BigInteger number2) {
         BigInteger gcd = number1.gcd(number2);
         BigInteger absProduct = number1.multiply(number2).abs();
@@ -114,27 +117,38 @@ public class Solution extends SolutionBase {
     }
 
     private Map<String, Module> parseInput() throws IOException {
-        Map<String, Module> result = InputProcessingUtil.readInputLines(getDay())
-                .stream()
-                .map(this::parseInputLine)
-                .collect(Collectors.toMap(module -> module.id, module -> module));
+        Map<String, Module> result = new HashMap<>();
+        modulesByNumber = new ArrayList<>();
+        List<String> lines = InputProcessingUtil.readInputLines(getDay());
+        for (String line : lines) {
+            Module module = parseInputLine(line, modulesByNumber.size(), lines.size());
+            result.put(module.id, module);
+            modulesByNumber.add(module);
+        }
 
-        result.values()
-                .forEach(module -> module.destinationModuleIds
-                        .stream()
-                        .filter(dmId -> result.get(dmId) instanceof ConjunctionModule)
-                        .forEach(dmId -> ((ConjunctionModule) result.get(dmId)).addInputModule(module.id)));
+        for (Module module : modulesByNumber) {
+            module.destinationModuleNumbers = module.destinationModuleIds
+                    .stream()
+                    .filter(result::containsKey)
+                    .mapToInt(dmId -> result.get(dmId).number)
+                    .toArray();
+            for (int destinationModuleNumber : module.destinationModuleNumbers) {
+                if (modulesByNumber.get(destinationModuleNumber) instanceof ConjunctionModule conjunctionModule) {
+                    conjunctionModule.addInputModule(module.number);
+                }
+            }
+        }
 
         return result;
     }
 
-    private Module parseInputLine(String line) {
+    private Module parseInputLine(String line, int number, int moduleCount) {
         String[] components = line.split(" -> ");
         List<String> destinationModuleIds = List.of(components[1].split(", "));
         return switch (components[0].charAt(0)) {
-            case 'b' -> new BroadcasterModule(components[0], destinationModuleIds);
-            case '%' -> new FlipFlopModule(components[0].substring(1), destinationModuleIds);
-            case '&' -> new ConjunctionModule(components[0].substring(1), destinationModuleIds);
+            case 'b' -> new BroadcasterModule(components[0], number, destinationModuleIds);
+            case '%' -> new FlipFlopModule(components[0].substring(1), number, destinationModuleIds);
+            case '&' -> new ConjunctionModule(components[0].substring(1), number, moduleCount, destinationModuleIds);
             default -> throw new RuntimeException("Invalid module type id found.");
         };
     }
@@ -142,14 +156,14 @@ public class Solution extends SolutionBase {
     private class FlipFlopModule extends Module {
         private boolean isFlipOn;
 
-        private FlipFlopModule(String id, List<String> destinationModuleIds) {
-            super(id, destinationModuleIds);
+        private FlipFlopModule(String id, int number, List<String> destinationModuleIds) {
+            super(id, number, destinationModuleIds);
             isFlipOn = false;
         }
 
         @Override
-        void processPulse(Pulse pulse) {
-            if (!pulse.isHighPulse) {
+        void processPulse(boolean isHighPulse, int fromModuleNumber) {
+            if (!isHighPulse) {
                 isFlipOn = !isFlipOn;
                 sendPulses(isFlipOn);
             }
@@ -157,24 +171,35 @@ public class Solution extends SolutionBase {
     }
 
     private class ConjunctionModule extends Module {
-        private final Map<String, Boolean> latestReceivedPulses;
-
-        private ConjunctionModule(String id, List<String> destinationModuleIds) {
-            super(id, destinationModuleIds);
-            latestReceivedPulses = new HashMap<>();
+        // The latest received pulse of each input module, indexed by the module number.
+        private final boolean[] isInputModule;
+        private final boolean[] latestReceivedPulses;
+        private int inputModuleCount;
+        private int highPulseCount;
+
+        private ConjunctionModule(String id, int number, int moduleCount, List<String> destinationModuleIds) {
+            super(id, number, destinationModuleIds);
+            isInputModule = new boolean[moduleCount];
+            latestReceivedPulses = new boolean[moduleCount];
         }
 
-        void addInputModule(String id) {
-            latestReceivedPulses.put(id, false);
+        void addInputModule(int number) {
+            if (!isInputModule[number]) {
+                isInputModule[number] = true;
+                inputModuleCount++;
+            }
         }
 
         @Override
-        void processPulse(Pulse pulse) {
-            latestReceivedPulses.put(pulse.fromModuleId, pulse.isHighPulse);
-            sendPulses(!latestReceivedPulses.values().stream().allMatch(isHighPulse -> isHighPulse));
+        void processPulse(boolean isHighPulse, int fromModuleNumber) {
+            if (latestReceivedPulses[fromModuleNumber] != isHighPulse) {
+                latestReceivedPulses[fromModuleNumber] = isHighPulse;
+                highPulseCount += isHighPulse ? 1 : -1;
+            }
+            sendPulses(highPulseCount != inputModuleCount);
 
             if (part == 2
-                    && latestReceivedPulses.values().stream().noneMatch(isHighPulse -> isHighPulse)
+                    && highPulseCount == 0
                     && grandparentsOfOutput.contains(id)
                     && !foundCycleLengths.containsKey(id)) {
                 foundCycleLengths.put(id, buttonPress);
@@ -183,53 +208,51 @@ public class Solution extends SolutionBase {
     }
 
     private class BroadcasterModule extends Module {
-        private BroadcasterModule(String id, List<String> destinationModuleIds) {
-            super(id, destinationModuleIds);
+        private BroadcasterModule(String id, int number, List<String> destinationModuleIds) {
+            super(id, number, destinationModuleIds);
         }
 
         @Override
-        void processPulse(Pulse pulse) {
+        void processPulse(boolean isHighPulse, int fromModuleNumber) {
             sendPulses(false);
         }
     }
 
     private abstract class Module {
         final String id;
+        final int number;
         final List<String> destinationModuleIds;
-        final LinkedList<Pulse> incomingPulseQueue;
+        // Only the destination modules that exist, as the others don't process pulses.
+        int[] destinationModuleNumbers;
+        // Each pulse is stored as the number of the sending module, doubled, plus 1 for high pulses.
+        final IntQueue incomingPulseQueue;
 
-        Module(String id, List<String> destinationModuleIds) {
+        Module(String id, int number, List<String> destinationModuleIds) {
             this.id = id;
+            this.number = number;
             this.destinationModuleIds = destinationModuleIds;
-            this.incomingPulseQueue = new LinkedList<>();
+            this.incomingPulseQueue = new IntQueue();
         }
 
         void sendPulses(boolean isHighPulse) {
-            Pulse pulse = new Pulse(isHighPulse, id);
-            for (String destinationModuleId : destinationModuleIds) {
-                if (modules.containsKey(destinationModuleId)) {
-                    modules.get(destinationModuleId).addPulseToQueue(pulse);
-                }
+            for (int destinationModuleNumber : destinationModuleNumbers) {
+                modulesByNumber.get(destinationModuleNumber).addPulseToQueue(isHighPulse, number);
             }
             if (part == 1) {
-                pulseCounter.put(pulse.isHighPulse, pulseCounter.get(pulse.isHighPulse) + destinationModuleIds.size());
+                pulseCounter[isHighPulse ? 1 : 0] += destinationModuleIds.size();
             }
         }
 
-        void addPulseToQueue(Pulse pulse) {
-            incomingPulseQueue.add(pulse);
-            moduleProcessingQueue.add(this);
+        void addPulseToQueue(boolean isHighPulse, int fromModuleNumber) {
+            incomingPulseQueue.add(fromModuleNumber * 2 + (isHighPulse ? 1 : 0));
+            moduleProcessingQueue.add(number);
         }
 
         void processPulse() {
-            Pulse pulse = incomingPulseQueue.pop();
-            processPulse(pulse);
-            // System.out.println(pulse.fromModuleId + " -" + (pulse.isHighPulse ? "high" : "low") + "-> " + id);
+            int pulse = incomingPulseQueue.poll();
+            processPulse(pulse % 2 == 1, pulse / 2);
         }
 
-        abstract void processPulse(Pulse pulse);
-    }
-
-    private record Pulse(boolean isHighPulse, String fromModuleId) {
+        abstract void processPulse(boolean isHighPulse, int fromModuleNumber);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+package com.shnako.solutions.day21;
+
+import com.shnako.solutions.InputGeneratorBase;
+
+import java.io.PrintWriter;
+import java.util.Random;
+
+/*
+Generates a square garden with an odd side and the start in its centre, with about 15% rocks.
+Like the real input, the start's row and column and the edges of the garden are kept clear of rocks,
+which part 2 relies on when the garden repeats.
+A real input is 131 by 131.
+ */
+public class InputGenerator extends InputGeneratorBase {
+    @Override
+    public void generate(int scale, Random random, PrintWriter out) {
+        int side = scaleSide(131, scale) | 1;
+        int centre = side / 2;
+        char[] row = new char[side];
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                boolean isClear = r == centre || c == centre || r == 0 || c == 0 || r == side - 1 || c == side - 1;
+                row[c] = !isClear && random.nextInt(100) < 15 ? '#' : '.';
+            }
+            if (r == centre) {
+                row[centre] = 'S';
+            }
+            out.println(row);
+        }
+    }
+}
@@ -1,23 +1,29 @@
 package com.shnako.solutions.day21;
 
 import com.shnako.solutions.SolutionBase;
-import com.shnako.util.InputProcessingUtil;
-import org.apache.commons.lang3.tuple.Pair;
+import com.shnako.util.graph.BreadthFirstSearch;
+import com.shnako.util.graph.Graph;
+import com.shnako.util.grid.Direction;
+import com.shnako.util.grid.Grid;
 
 import java.io.IOException;
 import java.math.BigInteger;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /*
-We store the grid as a boolean matrix to simplify operations, with # being represented as true, and . and S as false.
+We store the grid as a Grid, where # is a rock and . and S are garden plots.
 
 Part 1:
-We use a BFS algorithm to move from the starting point outwards the specified number of steps,
-and store the coordinates we have reached in a set to avoid duplicates.
-The result is the size of this set.
+We use a BFS algorithm to find the minimum number of steps from the starting point to every garden plot.
+Every step flips the parity of row + column, so a garden plot can only be reached in a number of steps
+with the same parity as its BFS distance.
+Because the Elf can always step back and forth between 2 garden plots,
+a garden plot reached in fewer steps can also be reached in exactly the specified number of steps when the parities match.
+A garden plot therefore counts only if its BFS distance is at most the specified number of steps
+and has the same parity as it. The result is the number of these garden plots.
 
 Part 2:
 This was an absolute pain, more like walking through the dark and eventually finding the door than coding...
@@ -43,6 +49,8 @@ I was initially trying a much larger grid, but turns out it works with a grid en
  */
 @SuppressWarnings("ExtractMethodRecommender")
 public class Solution extends SolutionBase {
+    private static final byte ROCK = '#';
+
     @Override
     public String runPart1() throws IOException {
         Garden garden = parseInput();
@@ -51,57 +59,65 @@ public class Solution extends SolutionBase {
     }
 
     private int findOptionsForSteps(Garden garden, int steps) {
-        Set<Coordinate> currentCoordinates = new HashSet<>();
-        Set<Coordinate> newCoordinates;
-        currentCoordinates.add(garden.start);
-
-        for (int step = 0; step < steps; step++) {
-            newCoordinates = new HashSet<>();
-            for (Coordinate coordinate : currentCoordinates) {
-                newCoordinates.addAll(getValidMoves(garden, coordinate));
-            }
-            currentCoordinates = newCoordinates;
-        }
-        return currentCoordinates.size();
+        return findOptionsForSteps(garden, List.of(steps)).get(0);
     }
 
-    private static final List<Coordinate> MOVES = List.of(
-            new Coordinate(-1, 0),
-            new Coordinate(0, 1),
-            new Coordinate(1, 0),
-            new Coordinate(0, -1)
-    );
-
-    private List<Coordinate> getValidMoves(Garden garden, Coordinate coordinate) {
-        return MOVES
-                .stream()
-                .map(move -> new Coordinate(coordinate.r + move.r, coordinate.c + move.c))
-                .filter(nextCoordinate -> !isOutOfBounds(garden, nextCoordinate))
-                .filter(nextCoordinate -> !isRock(garden, nextCoordinate))
-                .collect(Collectors.toList());
+    // Finds the options for each of the numbers of steps with a single search.
+    private List<Integer> findOptionsForSteps(Garden garden, List<Integer> stepsToCheck) {
+        BreadthFirstSearch bfs = new BreadthFirstSearch();
+        bfs.run(buildGardenGraph(garden.grid), garden.start);
+
+        int[] options = new int[stepsToCheck.size()];
+        for (int cell = 0; cell < bfs.nodeCount(); cell++) {
+            int distance = bfs.distance(cell);
+            if (distance == BreadthFirstSearch.UNREACHABLE) {
+                continue;
+            }
+            for (int i = 0; i < options.length; i++) {
+                int steps = stepsToCheck.get(i);
+                if (distance <= steps && (steps - distance) % 2 == 0) {
+                    options[i]++;
+                }
+            }
+        }
+        return Arrays.stream(options).boxed().toList();
     }
 
-    private boolean isOutOfBounds(Garden garden, Coordinate coordinate) {
-        return coordinate.r < 0 || coordinate.r > garden.grid.length
-                || coordinate.c < 0 || coordinate.c > garden.grid[0].length;
+    // The nodes are the cells of the grid, with edges between neighbouring garden plots.
+    private Graph buildGardenGraph(Grid grid) {
+        Graph.Builder builder = new Graph.Builder().ensureNodes(grid.size());
+        for (int r = 0; r < grid.height(); r++) {
+            for (int c = 0; c < grid.width(); c++) {
+                int cell = grid.cell(r, c);
+                if (!isValidMove(grid, cell)) {
+                    continue;
+                }
+                for (Direction direction : Direction.values()) {
+                    int nextCell = grid.neighbour(cell, direction);
+                    if (isValidMove(grid, nextCell)) {
+                        builder.addEdge(cell, nextCell);
+                    }
+                }
+            }
+        }
+        return builder.build();
     }
 
-    private boolean isRock(Garden garden, Coordinate coordinate) {
-        return garden.grid[coordinate.r][coordinate.c];
+    private boolean isValidMove(Grid grid, int cell) {
+        byte value = grid.get(cell);
+        return value != ROCK && value != Grid.BORDER;
     }
 
     @Override
     public String runPart2() throws IOException {
         final int steps = 26501365;
         Garden garden = parseInput();
-        int gridSize = garden.grid.length;
+        int gridSize = garden.grid.height();
         int remainder = steps % gridSize;
         List<Integer> stepsToCheck = List.of(remainder, remainder + gridSize, remainder + gridSize * 2);
-        Garden bigGarden = garden.enlarge(5);
-        String stepResults = stepsToCheck
-                .stream()
-                .map(x -> Pair.of(x, findOptionsForSteps(bigGarden, x)))
-                .map(pair -> String.format("{%d, %d}", pair.getLeft(), pair.getRight()))
+        List<Integer> options = findOptionsForSteps(garden.enlarge(5), stepsToCheck);
+        String stepResults = IntStream.range(0, stepsToCheck.size())
+                .mapToObj(i -> String.format("{%d, %d}", stepsToCheck.get(i), options.get(i)))
                 .collect(Collectors.joining(", "));
 
         String pasteIntoWolframAlpha = String.format("quadratic fit {%s}", stepResults);
@@ -121,44 +137,30 @@ public class Solution extends SolutionBase {
     }
 
     private Garden parseInput() throws IOException {
-        char[][] input = InputProcessingUtil.readCharGrid(getDay());
-        boolean[][] boolGrid = new boolean[input.length][input[0].length];
-        int startR = -1, startC = -1;
-        for (int r = 0; r < input.length; r++) {
-            for (int c = 0; c < input[r].length; c++) {
-                boolGrid[r][c] = input[r][c] == '#';
-                if (input[r][c] == 'S') {
-                    startR = r;
-                    startC = c;
-                }
-            }
-        }
-        return new Garden(boolGrid, new Coordinate(startR, startC));
+        Grid grid = Grid.read(getDay());
+        return new Garden(grid, grid.find((byte) 'S'));
     }
 
     @SuppressWarnings("SameParameterValue")
-    private record Garden(boolean[][] grid, Coordinate start) {
+    private record Garden(Grid grid, int start) {
         private Garden enlarge(int times) {
             if (times % 2 == 0) {
                 throw new RuntimeException("Enlarging even number of times is not supported");
             }
 
-            boolean[][] resultGrid = new boolean[grid.length * times][grid[0].length * times];
-            for (int r = 0; r < grid.length; r++) {
-                for (int c = 0; c < grid[r].length; c++) {
+            Grid resultGrid = new Grid(grid.width() * times, grid.height() * times);
+            for (int r = 0; r < grid.height(); r++) {
+                for (int c = 0; c < grid.width(); c++) {
                     for (int timeR = 0; timeR < times; timeR++) {
                         for (int timeC = 0; timeC < times; timeC++) {
-                            resultGrid[grid.length * timeR + r][grid[r].length * timeC + c] = grid[r][c];
+                            resultGrid.set(resultGrid.cell(grid.height() * timeR + r, grid.width() * timeC + c), grid.get(r, c));
                         }
                     }
                 }
             }
-            int newStartR = grid.length * (times / 2) + start.r;
-            int newStartC = grid[0].length * (times / 2) + start.c;
-            return new Garden(resultGrid, new Coordinate(newStartR, newStartC));
+            int newStartR = grid.height() * (times / 2) + grid.row(start);
+            int newStartC = grid.width() * (times / 2) + grid.col(start);
+            return new Garden(resultGrid, resultGrid.cell(newStartR, newStartC));
         }
     }
-
-    private record Coordinate(int r, int c) {
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package com.shnako.solutions.day22;
+
+import com.shnako.solutions.InputGeneratorBase;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/*
+Generates bricks up to 5 cubes long over a 10 by 10 area, each dropped onto the stack with a random gap below it,
+so they still have to fall. The bricks are listed in a random order.
+A real input has 1250 bricks.
+ */
+public class InputGenerator extends InputGeneratorBase {
+    private static final int AREA_SIDE = 10;
+
+    @Override
+    public void generate(int scale, Random random, PrintWriter out) {
+        int[][] heights = new int[AREA_SIDE][AREA_SIDE];
+        List<String> bricks = new ArrayList<>();
+        for (int i = 0; i < 1250 * scale; i++) {
+            int axis = random.nextInt(3);
+            int length = random.nextInt(5);
+            int x1 = random.nextInt(AREA_SIDE - (axis == 0 ? length : 0));
+            int y1 = random.nextInt(AREA_SIDE - (axis == 1 ? length : 0));
+            int x2 = x1 + (axis == 0 ? length : 0);
+            int y2 = y1 + (axis == 1 ? length : 0);
+
+            int top = 0;
+            for (int x = x1; x <= x2; x++) {
+                for (int y = y1; y <= y2; y++) {
+                    top = Math.max(top, heights[x][y]);
+                }
+            }
+            int z1 = top + 1 + random.nextInt(4);
+            int z2 = z1 + (axis == 2 ? length : 0);
+            for (int x = x1; x <= x2; x++) {
+                for (int y = y1; y <= y2; y++) {
+                    heights[x][y] = z2;
+                }
+            }
+            bricks.add(String.format("%d,%d,%d~%d,%d,%d", x1, y1, z1, x2, y2, z2));
+        }
+
+        Collections.shuffle(bricks, random);
+        bricks.forEach(out::println);
+    }
+}
@@ -2,6 +2,8 @@ package com.shnako.solutions.day22;
 
 import com.shnako.solutions.SolutionBase;
 import com.shnako.util.InputProcessingUtil;
+import com.shnako.util.IntQueue;
+import com.shnako.util.graph.Graph;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
@@ -14,30 +16,32 @@ We parse bricks as Brick objects, which get sorted by their lowest z coordinate.
 We determine which bricks a brick can stack with and store the ones above and ones below in the Brick object, sorted.
 We then let the bricks fall until they hit the ground or another brick, going from lowest to highest.
 
+Once settled, we build a graph with an edge from each brick to every brick resting directly on it,
+and count the number of bricks each brick is resting on.
+
 Part 1:
-For each brick, we mark it as unsafe if any of the bricks above it are only supported by it.
+For each brick, we mark it as unsafe if any of the bricks resting on it are only supported by it.
 The result is the number of bricks not marked as unsafe.
 
 Part 2:
 For each brick, we use a BFS algorithm to simulate which bricks would fall if it were removed.
-We keep a queue of impacted bricks that we need to verify and a set of bricks that have already fallen.
-As we go up the brick stack, we check if all of a brick's supporting bricks have fallen,
-and if so, we mark it as fallen and all the bricks above it as impacted,
-and continue until we run out of impacted bricks.
+We keep a queue of fallen bricks that we need to verify and a counter of fallen supporting bricks for each brick.
+As we go up the brick stack, we increment the counter of each brick resting on a fallen brick,
+and once all of a brick's supporting bricks have fallen, we mark it as fallen and add it to the queue,
+continuing until we run out of fallen bricks.
 The result is the sum of fallen bricks on each removed brick.
  */
 public class Solution extends SolutionBase {
     @Override
     public String runPart1() throws IOException {
-        List<Brick> bricks = parseInput();
-        stackBricks(bricks);
-        letGravityDoItsThing(bricks);
+        BrickStack brickStack = getBrickStack();
+        Graph supports = brickStack.supports;
 
         int result = 0;
-        for (Brick brick : bricks) {
+        for (int brick = 0; brick < supports.nodeCount(); brick++) {
             boolean isSafeToDisintegrate = true;
-            for (Brick brickAbove : brick.bricksAbove) {
-                if (brickAbove.bricksBelow.stream().noneMatch(bb -> bb != brick && bb.to.z + 1 == brickAbove.from.z)) {
+            for (int edge = supports.edgeStart(brick); edge < supports.edgeEnd(brick); edge++) {
+                if (brickStack.supportCounts[supports.target(edge)] == 1) {
                     isSafeToDisintegrate = false;
                     break;
                 }
@@ -52,41 +56,67 @@ public class Solution extends SolutionBase {
 
     @Override
     public String runPart2() throws IOException {
-        List<Brick> bricks = parseInput();
-        stackBricks(bricks);
-        letGravityDoItsThing(bricks);
+        BrickStack brickStack = getBrickStack();
+        Graph supports = brickStack.supports;
 
         int result = 0;
-        Queue<Brick> impactedBricks = new LinkedList<>();
-        for (Brick brick : bricks) {
-            Set<Brick> fallenBricks = new HashSet<>();
-            impactedBricks.add(brick);
+        IntQueue fallenBricks = new IntQueue();
+        int[] fallenSupportCounts = new int[supports.nodeCount()];
+        int[] impactedBricks = new int[supports.nodeCount()];
+        for (int brick = 0; brick < supports.nodeCount(); brick++) {
+            int impactedBrickCount = 0;
             fallenBricks.add(brick);
-            while (!impactedBricks.isEmpty()) {
-                Brick fallingBrick = impactedBricks.poll();
-                for (Brick brickAbove : fallingBrick.bricksAbove) {
-                    if (!fallenBricks.contains(brickAbove) && isBrickFalling(brickAbove, fallenBricks)) {
-                        impactedBricks.add(brickAbove);
+            while (!fallenBricks.isEmpty()) {
+                int fallenBrick = fallenBricks.poll();
+                for (int edge = supports.edgeStart(fallenBrick); edge < supports.edgeEnd(fallenBrick); edge++) {
+                    int brickAbove = supports.target(edge);
+                    if (fallenSupportCounts[brickAbove]++ == 0) {
+                        impactedBricks[impactedBrickCount++] = brickAbove;
+                    }
+                    if (fallenSupportCounts[brickAbove] == brickStack.supportCounts[brickAbove]) {
                         fallenBricks.add(brickAbove);
+                        result++;
                     }
                 }
             }
-            result += fallenBricks.size() - 1;
+
+            // Only the impacted bricks have counters to reset for the next brick.
+            for (int i = 0; i < impactedBrickCount; i++) {
+                fallenSupportCounts[impactedBricks[i]] = 0;
+            }
         }
 
         return String.valueOf(result);
     }
 
-    private boolean isBrickFalling(Brick brick, Set<Brick> fallenBricks) {
-        for (Brick brickBelow : brick.bricksBelow) {
-            if (fallenBricks.contains(brickBelow)) {
-                continue;
-            }
-            if (brickBelow.to.z + 1 == brick.from.z) {
-                return false;
+    // The bricks only move while settling, so the stack of settled bricks is shared between both parts.
+    private BrickStack getBrickStack() throws IOException {
+        return getParsedInput("brickStack", () -> {
+            List<Brick> bricks = parseInput();
+            stackBricks(bricks);
+            letGravityDoItsThing(bricks);
+            return buildBrickStack(bricks);
+        });
+    }
+
+    private BrickStack buildBrickStack(List<Brick> bricks) {
+        Map<Brick, Integer> brickIndexes = new HashMap<>();
+        for (int i = 0; i < bricks.size(); i++) {
+            brickIndexes.put(bricks.get(i), i);
+        }
+
+        Graph.Builder supports = new Graph.Builder().ensureNodes(bricks.size());
+        int[] supportCounts = new int[bricks.size()];
+        for (Brick brick : bricks) {
+            for (Brick brickAbove : brick.bricksAbove) {
+                if (brick.to.z + 1 == brickAbove.from.z) {
+                    int brickAboveIndex = brickIndexes.get(brickAbove);
+                    supports.addEdge(brickIndexes.get(brick), brickAboveIndex);
+                    supportCounts[brickAboveIndex]++;
+                }
             }
         }
-        return true;
+        return new BrickStack(supports.build(), supportCounts);
     }
 
     private void stackBricks(List<Brick> bricks) {
@@ -138,6 +168,9 @@ public class Solution extends SolutionBase {
         return new Brick(a, b);
     }
 
+    private record BrickStack(Graph supports, int[] supportCounts) {
+    }
+
     private static class Brick implements Comparable<Brick> {
         private final Coordinate from, to;
         private final List<Brick> bricksAbove, bricksBelow;
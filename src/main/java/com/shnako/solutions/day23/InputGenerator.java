@@ -0,0 +1,81 @@
+package com.shnako.solutions.day23;
+
+import com.shnako.solutions.InputGeneratorBase;
+
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Random;
+
+/*
+Generates a forest with a square lattice of crossroads joined by paths, with slopes next to each crossroad
+that only let the paths be walked right and down.
+Some of the paths going right take a detour up or down, so the paths have different lengths.
+The entrance is above the top left crossroad and the exit below the bottom right one.
+The number of crossroads stays the same as in the real input, as the longest route in part 2 takes exponentially
+longer to find with more of them, so larger scales get longer paths between the crossroads instead.
+A real input is 141 by 141 with 6 by 6 crossroads.
+ */
+public class InputGenerator extends InputGeneratorBase {
+    private static final int CROSSROADS = 6;
+
+    @Override
+    public void generate(int scale, Random random, PrintWriter out) {
+        int spacing = Math.max(8, scaleSide(138, scale) / (CROSSROADS - 1));
+        int side = spacing * (CROSSROADS - 1) + 3;
+        char[][] map = new char[side][side];
+        for (char[] row : map) {
+            Arrays.fill(row, '#');
+        }
+        map[0][1] = '.';
+        map[side - 1][side - 2] = '.';
+
+        for (int i = 0; i < CROSSROADS; i++) {
+            int line = 1 + i * spacing;
+            for (int j = 0; j < CROSSROADS; j++) {
+                map[line][1 + j * spacing] = '.';
+            }
+            for (int j = 0; j < CROSSROADS - 1; j++) {
+                int from = 1 + j * spacing + 1, to = from + spacing - 2;
+                digVerticalPath(map, line, from, to);
+                digHorizontalPath(map, line, from, to, i, spacing, random);
+            }
+        }
+
+        for (char[] row : map) {
+            out.println(row);
+        }
+    }
+
+    private void digVerticalPath(char[][] map, int col, int fromRow, int toRow) {
+        for (int row = fromRow; row <= toRow; row++) {
+            map[row][col] = '.';
+        }
+        map[fromRow][col] = 'v';
+        map[toRow][col] = 'v';
+    }
+
+    private void digHorizontalPath(char[][] map, int row, int fromCol, int toCol, int lattice, int spacing, Random random) {
+        for (int col = fromCol; col <= toCol; col++) {
+            map[row][col] = '.';
+        }
+        // The detour stays at least 2 cells away from the paths around it, so it never joins them.
+        int maxDetour = spacing / 2 - 2;
+        if (maxDetour > 0 && random.nextBoolean()) {
+            int detourFromCol = randomBetween(random, fromCol + 2, toCol - 4);
+            int detourToCol = randomBetween(random, detourFromCol + 2, toCol - 2);
+            boolean goesUp = lattice == CROSSROADS - 1 || (lattice > 0 && random.nextBoolean());
+            int detourRow = row + (goesUp ? -1 : 1) * randomBetween(random, 1, maxDetour);
+
+            for (int col = detourFromCol + 1; col < detourToCol; col++) {
+                map[row][col] = '#';
+                map[detourRow][col] = '.';
+            }
+            for (int r = Math.min(row, detourRow); r <= Math.max(row, detourRow); r++) {
+                map[r][detourFromCol] = '.';
+                map[r][detourToCol] = '.';
+            }
+        }
+        map[row][fromCol] = '>';
+        map[row][toCol] = '>';
+    }
+}
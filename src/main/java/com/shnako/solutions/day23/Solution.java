@@ -1,17 +1,21 @@
 package com.shnako.solutions.day23;
 
 import com.shnako.solutions.SolutionBase;
-import com.shnako.util.InputProcessingUtil;
-import org.apache.commons.lang3.tuple.Pair;
+import com.shnako.util.IntQueue;
+import com.shnako.util.graph.DepthFirstSearch;
+import com.shnako.util.graph.Graph;
+import com.shnako.util.grid.Direction;
+import com.shnako.util.grid.Grid;
 
 import java.io.IOException;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.Arrays;
+
+import static com.shnako.util.grid.Direction.*;
 
 /*
 The solution is based on the observation that the input is really a graph with each node being a crossroad.
 We therefore start by processing the input into a graph starting from the entrance and ending at the exit.
-In the Crossroad object, we store the distance to each neighbouring crossroads.
+Each crossroad is numbered as it's found, and the graph has an edge for the distance to each neighbouring crossroad.
 
 Part 1:
 We build the graph taking in consideration the slope rules.
@@ -25,33 +29,35 @@ The maximum distance is calculated using a DFS algorithm that looks at all possi
 "Fun" fact: < and ^ do not appear in the input or example, even though they're mentioned in the puzzle.
  */
 public class Solution extends SolutionBase {
-    private static final Map<Character, List<Coordinates>> MOVES = Map.of(
-            '^', List.of(new Coordinates(-1, 0)),
-            '>', List.of(new Coordinates(0, 1)),
-            'v', List.of(new Coordinates(1, 0)),
-            '<', List.of(new Coordinates(0, -1)),
-            '.', List.of(
-                    new Coordinates(-1, 0),
-                    new Coordinates(0, 1),
-                    new Coordinates(1, 0),
-                    new Coordinates(0, -1)
-            )
-    );
+    private static final byte FOREST = '#';
+    private static final byte PATH = '.';
+
+    // The moves allowed from each tile, indexed by the tile.
+    private static final Direction[][] MOVES = new Direction[128][];
+
+    static {
+        MOVES['^'] = new Direction[]{N};
+        MOVES['>'] = new Direction[]{E};
+        MOVES['v'] = new Direction[]{S};
+        MOVES['<'] = new Direction[]{W};
+        MOVES['.'] = new Direction[]{N, E, S, W};
+    }
 
     @Override
     public String runPart1() throws IOException {
-        char[][] grid = InputProcessingUtil.readCharGrid(getDay());
+        Grid grid = getParsedInput("grid", () -> Grid.read(getDay()));
         return solve(grid);
     }
 
     @Override
     public String runPart2() throws IOException {
-        char[][] grid = InputProcessingUtil.readCharGrid(getDay());
-
-        for (int r = 0; r < grid.length; r++) {
-            for (int c = 0; c < grid[r].length; c++) {
-                if (grid[r][c] != '#') {
-                    grid[r][c] = '.';
+        // The parsed grid is shared with part 1, so the slopes are replaced in a copy.
+        Grid grid = getParsedInput("grid", () -> Grid.read(getDay())).copy();
+        for (int r = 0; r < grid.height(); r++) {
+            for (int c = 0; c < grid.width(); c++) {
+                int cell = grid.cell(r, c);
+                if (grid.get(cell) != FOREST) {
+                    grid.set(cell, PATH);
                 }
             }
         }
@@ -59,128 +65,101 @@ public class Solution extends SolutionBase {
         return solve(grid);
     }
 
-    private String solve(char[][] grid) {
-        Coordinates from = findEntrance(grid, 0);
-        Coordinates to = findEntrance(grid, grid.length - 1);
-        Map<Coordinates, Crossroad> crossroadMap = getCrossroadGraphMap(grid, from, to);
-        int result = findLongestPath(crossroadMap.get(from), crossroadMap.get(to), 0, List.of(), crossroadMap);
+    private String solve(Grid grid) {
+        int from = findEntrance(grid, 0);
+        int to = findEntrance(grid, grid.height() - 1);
+        CrossroadGraph crossroadGraph = getCrossroadGraph(grid, from, to);
+        int result = new DepthFirstSearch().findLongestPath(crossroadGraph.graph,
+                crossroadGraph.crossroadNumbers[from], crossroadGraph.crossroadNumbers[to]);
         return String.valueOf(result);
     }
 
-    private Coordinates findEntrance(char[][] grid, int row) {
-        for (int c = 0; c < grid[row].length; c++) {
-            if (grid[row][c] == '.') {
-                return new Coordinates(row, c);
+    private int findEntrance(Grid grid, int row) {
+        for (int c = 0; c < grid.width(); c++) {
+            if (grid.get(row, c) == PATH) {
+                return grid.cell(row, c);
             }
         }
         throw new RuntimeException("Exit not found on row " + row);
     }
 
-    private Map<Coordinates, Crossroad> getCrossroadGraphMap(char[][] grid, Coordinates startCoordinates, Coordinates endCoordinates) {
-        Map<Coordinates, Crossroad> crossroadMap = new HashMap<>();
-        Queue<Crossroad> crossRoadQueue = new LinkedList<>();
-        Crossroad start = new Crossroad(startCoordinates);
-        crossRoadQueue.add(start);
-        while (!crossRoadQueue.isEmpty()) {
-            Crossroad crossroad = crossRoadQueue.poll();
-            if (crossroadMap.containsKey(crossroad.coordinates)) {
-                continue;
-            }
-            List<Coordinates> neighbours = getValidNeighbours(crossroad.coordinates, grid, null);
-            for (Coordinates neighbour : neighbours) {
-                Pair<Coordinates, Integer> neighbourCrossroadDistance =
-                        findClosestCrossroad(crossroad.coordinates, neighbour, grid, endCoordinates);
+    private CrossroadGraph getCrossroadGraph(Grid grid, int startCell, int endCell) {
+        int[] crossroadNumbers = new int[grid.size()];
+        Arrays.fill(crossroadNumbers, -1);
+        int crossroadCount = 0;
+        Graph.Builder builder = new Graph.Builder();
+        IntQueue crossroadQueue = new IntQueue();
+
+        crossroadNumbers[startCell] = crossroadCount++;
+        crossroadQueue.add(startCell);
+        int[] neighbours = new int[MOVES['.'].length];
+        while (!crossroadQueue.isEmpty()) {
+            int crossroad = crossroadQueue.poll();
+            int neighbourCount = findValidNeighbours(crossroad, grid, -1, neighbours);
+            for (int i = 0; i < neighbourCount; i++) {
+                CrossroadDistance neighbourCrossroadDistance = findClosestCrossroad(crossroad, neighbours[i], grid, endCell);
                 if (neighbourCrossroadDistance == null) {
                     continue;
                 }
-                Crossroad neighbourCrossroad = crossroadMap.getOrDefault(neighbourCrossroadDistance.getLeft(),
-                        new Crossroad(neighbourCrossroadDistance.getLeft()));
-                int distance = neighbourCrossroadDistance.getRight();
-
-                if (!crossroad.neighbourDistances.containsKey(neighbourCrossroad.coordinates)
-                        || crossroad.neighbourDistances.get(neighbourCrossroad.coordinates) < distance) {
-                    crossroad.neighbourDistances.put(neighbourCrossroad.coordinates, distance);
-                    crossRoadQueue.add(neighbourCrossroad);
+                int neighbourCrossroad = neighbourCrossroadDistance.cell;
+                if (crossroadNumbers[neighbourCrossroad] == -1) {
+                    crossroadNumbers[neighbourCrossroad] = crossroadCount++;
+                    crossroadQueue.add(neighbourCrossroad);
                 }
+                builder.addEdge(crossroadNumbers[crossroad], crossroadNumbers[neighbourCrossroad], neighbourCrossroadDistance.distance);
             }
-            crossroadMap.put(crossroad.coordinates, crossroad);
         }
-        return crossroadMap;
+        builder.ensureNodes(crossroadCount);
+        return new CrossroadGraph(builder.build(), crossroadNumbers);
     }
 
-    private Pair<Coordinates, Integer> findClosestCrossroad(Coordinates from, Coordinates neighbour, char[][] grid, Coordinates endCoordinates) {
+    private CrossroadDistance findClosestCrossroad(int from, int neighbour, Grid grid, int endCell) {
         int distance = 1;
-        Coordinates current = neighbour, incoming = from;
+        int current = neighbour, incoming = from;
+        int[] nextCells = new int[MOVES['.'].length];
         while (true) {
-            if (current.equals(endCoordinates)) {
-                return Pair.of(current, distance);
+            if (current == endCell) {
+                return new CrossroadDistance(current, distance);
             }
-            List<Coordinates> nextCoordinates = getValidNeighbours(current, grid, incoming);
-            if (nextCoordinates.isEmpty()) {
+            int nextCount = findValidNeighbours(current, grid, incoming, nextCells);
+            if (nextCount == 0) {
                 return null;
             }
-            if (nextCoordinates.size() > 1) {
-                return Pair.of(current, distance);
+            if (nextCount > 1) {
+                return new CrossroadDistance(current, distance);
             }
 
             incoming = current;
-            current = nextCoordinates.get(0);
+            current = nextCells[0];
             distance++;
         }
     }
 
-    private List<Coordinates> getValidNeighbours(Coordinates coordinates, char[][] grid, Coordinates incoming) {
-        return MOVES.get(grid[coordinates.r][coordinates.c])
-                .stream()
-                .map(move -> new Coordinates(coordinates.r + move.r, coordinates.c + move.c))
-                .filter(move -> !move.equals(incoming))
-                .filter(move -> move.r >= 0 && move.r < grid.length && move.c >= 0 && move.c < grid[coordinates.r].length)
-                .filter(move -> grid[move.r][move.c] != '#')
-                .filter(move -> !isUphill(move, coordinates, grid))
-                .collect(Collectors.toList());
-    }
-
-    private boolean isUphill(Coordinates to, Coordinates from, char[][] grid) {
-        if (grid[to.r][to.c] == '.') {
-            return false;
+    // Stores the valid neighbours in the result array and returns how many there are.
+    private int findValidNeighbours(int cell, Grid grid, int incoming, int[] result) {
+        int count = 0;
+        for (Direction move : MOVES[grid.get(cell)]) {
+            int next = grid.neighbour(cell, move);
+            byte tile = grid.get(next);
+            if (next != incoming && tile != Grid.BORDER && tile != FOREST && !isUphill(tile, move)) {
+                result[count++] = next;
+            }
         }
-        Coordinates allowedMove = MOVES.get(grid[to.r][to.c]).get(0);
-        Coordinates move = new Coordinates(to.r - from.r, to.c - from.c);
-
-        return allowedMove.r + move.r == 0 && allowedMove.c + move.c == 0;
+        return count;
     }
 
-    private int findLongestPath(Crossroad current, Crossroad to, int distance, List<Coordinates> path, Map<Coordinates, Crossroad> crossroadMap) {
-        if (current.equals(to)) {
-            return distance;
+    private boolean isUphill(byte tile, Direction move) {
+        if (tile == PATH) {
+            return false;
         }
-
-        path = new ArrayList<>(path);
-        path.add(current.coordinates);
-        List<Coordinates> finalPath = path;
-        return current.neighbourDistances.entrySet()
-                .stream()
-                .filter(e -> !finalPath.contains(e.getKey()))
-                .mapToInt(e -> findLongestPath(crossroadMap.get(e.getKey()), to, distance + e.getValue(), finalPath, crossroadMap))
-                .max()
-                .orElse(0);
+        Direction allowedMove = MOVES[tile][0];
+        return allowedMove == move.opposite();
     }
 
-    private record Coordinates(int r, int c) {
+    private record CrossroadDistance(int cell, int distance) {
     }
 
-    private static class Crossroad {
-        private final Coordinates coordinates;
-        private final Map<Coordinates, Integer> neighbourDistances;
-
-        private Crossroad(Coordinates coordinates) {
-            this.coordinates = coordinates;
-            this.neighbourDistances = new HashMap<>();
-        }
-
-        @Override
-        public String toString() {
-            return String.format("[%d, %d] -> %d", coordinates.r, coordinates.c, neighbourDistances.size());
-        }
+    // The crossroad numbers are indexed by cell, and are -1 for cells that aren't crossroads.
+    private record CrossroadGraph(Graph graph, int[] crossroadNumbers) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,55 @@
+package com.shnako.solutions.day24;
+
+import com.shnako.solutions.InputGeneratorBase;
+
+import java.io.PrintWriter;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/*
+Generates hailstones that are all hit by a single rock thrown from a random position with a random velocity.
+Each hailstone is hit at a different time, and its position is worked back from where the rock is at that time.
+Hailstones that would start outside the range of positions in the real input are thrown away.
+A real input has 300 hailstones.
+ */
+public class InputGenerator extends InputGeneratorBase {
+    private static final long MIN_POSITION = 100_000_000_000_000L;
+    private static final long MAX_POSITION = 600_000_000_000_000L;
+    private static final long MIN_TIME = 100_000_000_000L;
+    private static final long MAX_TIME = 1_000_000_000_000L;
+
+    @Override
+    public void generate(int scale, Random random, PrintWriter out) {
+        long[] rockPosition = new long[3], rockVelocity = new long[3];
+        for (int axis = 0; axis < 3; axis++) {
+            rockPosition[axis] = randomLong(random, 2 * MIN_POSITION, 4 * MIN_POSITION);
+            rockVelocity[axis] = randomBetween(random, -200, 200);
+        }
+
+        Set<Long> hitTimes = new HashSet<>();
+        int hailstones = 0;
+        while (hailstones < 300 * scale) {
+            long hitTime = randomLong(random, MIN_TIME, MAX_TIME);
+            long[] position = new long[3], velocity = new long[3];
+            boolean isInRange = true;
+            for (int axis = 0; axis < 3; axis++) {
+                do {
+                    velocity[axis] = randomBetween(random, -300, 300);
+                } while (velocity[axis] == rockVelocity[axis]);
+                position[axis] = rockPosition[axis] + hitTime * (rockVelocity[axis] - velocity[axis]);
+                isInRange &= position[axis] >= MIN_POSITION && position[axis] <= MAX_POSITION;
+            }
+
+            if (isInRange && hitTimes.add(hitTime)) {
+                out.printf("%d, %d, %d @ %d, %d, %d%n", position[0], position[1], position[2],
+                        velocity[0], velocity[1], velocity[2]);
+                hailstones++;
+            }
+        }
+    }
+
+    private long randomLong(Random random, long from, long to) {
+        return from + (long) (random.nextDouble() * (to - from));
+    }
+}
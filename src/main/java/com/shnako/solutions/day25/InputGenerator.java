@@ -0,0 +1,77 @@
+package com.shnako.solutions.day25;
+
+import com.shnako.solutions.InputGeneratorBase;
+
+import java.io.PrintWriter;
+import java.util.*;
+
+/*
+Generates 2 groups of randomly wired components, each component wired to at least 4 others in its group,
+with exactly 3 wires between the groups, so cutting those is the only way to split the components in 2.
+A real input has about 1500 components.
+ */
+public class InputGenerator extends InputGeneratorBase {
+    private static final int MIN_WIRES = 4;
+
+    @Override
+    public void generate(int scale, Random random, PrintWriter out) {
+        int groupSize = 750 * scale;
+        List<Set<Integer>> wires = new ArrayList<>(2 * groupSize);
+        for (int component = 0; component < 2 * groupSize; component++) {
+            wires.add(new HashSet<>());
+        }
+        wireGroup(wires, 0, groupSize, random);
+        wireGroup(wires, groupSize, groupSize, random);
+        for (int i = 0; i < 3; i++) {
+            int from, to;
+            do {
+                from = random.nextInt(groupSize);
+                to = groupSize + random.nextInt(groupSize);
+            } while (!wires.get(from).add(to));
+            wires.get(to).add(from);
+        }
+
+        List<Integer> nameIndices = new ArrayList<>(wires.size());
+        for (int component = 0; component < wires.size(); component++) {
+            nameIndices.add(component);
+        }
+        Collections.shuffle(nameIndices, random);
+
+        // Each wire is listed once, on the line of one of the 2 components it joins.
+        List<String> lines = new ArrayList<>();
+        for (int component = 0; component < wires.size(); component++) {
+            List<String> listedWires = new ArrayList<>();
+            for (int other : wires.get(component)) {
+                if (other > component) {
+                    listedWires.add(lowercaseName(nameIndices.get(other), 3));
+                }
+            }
+            if (!listedWires.isEmpty()) {
+                lines.add(lowercaseName(nameIndices.get(component), 3) + ": " + String.join(" ", listedWires));
+            }
+        }
+        Collections.shuffle(lines, random);
+        lines.forEach(out::println);
+    }
+
+    // Wires each component to 2 earlier ones, so the group is connected, then tops up components with too few wires.
+    private void wireGroup(List<Set<Integer>> wires, int first, int size, Random random) {
+        for (int component = first + 1; component < first + size; component++) {
+            for (int i = 0; i < Math.min(2, component - first); i++) {
+                addWire(wires, component, first + random.nextInt(component - first));
+            }
+        }
+        for (int component = first; component < first + size; component++) {
+            while (wires.get(component).size() < MIN_WIRES) {
+                addWire(wires, component, first + random.nextInt(size));
+            }
+        }
+    }
+
+    private void addWire(List<Set<Integer>> wires, int from, int to) {
+        if (from != to) {
+            wires.get(from).add(to);
+            wires.get(to).add(from);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.shnako.solutions.day25;
 
 import com.shnako.solutions.SolutionBase;
 import com.shnako.util.InputProcessingUtil;
+import org.apache.commons.lang3.tuple.Pair;
 
 import java.io.IOException;
 import java.util.*;
@@ -31,8 +32,9 @@ public class Solution extends SolutionBase {
     public String runPart1() throws IOException {
         int result = -1, attempts = 0;
         Random randomiser = new Random();
+        List<Pair<String, String>> connections = getParsedInput("connections", this::parseInput);
         while (result == -1) {
-            List<Node> nodes = parseInput();
+            List<Node> nodes = buildWiringDiagram(connections);
 
             while (nodes.size() > 2) {
                 int nodeIndex = randomiser.nextInt(nodes.size());
@@ -78,29 +80,38 @@ public class Solution extends SolutionBase {
         nodes.remove(n2);
     }
 
-    private List<Node> parseInput() throws IOException {
+    // The contraction changes the nodes, so a new wiring diagram is built from the parsed connections on each attempt.
+    private List<Node> buildWiringDiagram(List<Pair<String, String>> connections) {
         Map<String, Node> wiringDiagram = new HashMap<>();
-        for (String line : InputProcessingUtil.readInputLines(getDay())) {
-            String[] components = line.split(": ");
-            String c1 = components[0];
+        for (Pair<String, String> connection : connections) {
+            String c1 = connection.getLeft();
+            String c2 = connection.getRight();
 
             if (!wiringDiagram.containsKey(c1)) {
                 wiringDiagram.put(c1, new Node(c1));
             }
-
-            components = components[1].split(" ");
-            for (String c2 : components) {
-                if (!wiringDiagram.containsKey(c2)) {
-                    wiringDiagram.put(c2, new Node(c2));
-                }
-                Edge edge = new Edge(wiringDiagram.get(c1), wiringDiagram.get(c2));
-                wiringDiagram.get(c1).addEdge(edge);
-                wiringDiagram.get(c2).addEdge(edge);
+            if (!wiringDiagram.containsKey(c2)) {
+                wiringDiagram.put(c2, new Node(c2));
             }
+            Edge edge = new Edge(wiringDiagram.get(c1), wiringDiagram.get(c2));
+            wiringDiagram.get(c1).addEdge(edge);
+            wiringDiagram.get(c2).addEdge(edge);
         }
         return new ArrayList<>(wiringDiagram.values());
     }
 
+    private List<Pair<String, String>> parseInput() throws IOException {
+        List<Pair<String, String>> connections = new ArrayList<>();
+        for (String line : InputProcessingUtil.readInputLines(getDay())) {
+            String[] components = line.split(": ");
+            String c1 = components[0];
+            for (String c2 : components[1].split(" ")) {
+                connections.add(Pair.of(c1, c2));
+            }
+        }
+        return List.copyOf(connections);
+    }
+
     private class Node {
         private final String id;
         private final List<Edge> edges;
@@ -0,0 +1,14 @@
+package com.shnako.util;
+
+/*
+A grid of input characters stored row by row in a single array, so reading a cell is a single array access.
+ */
+public record ByteGrid(byte[] cells, int width, int height) {
+    public int index(int row, int col) {
+        return row * width + col;
+    }
+
+    public byte get(int row, int col) {
+        return cells[row * width + col];
+    }
+}
@@ -0,0 +1,52 @@
+package com.shnako.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/*
+A view of a single line of input, without the line terminator, over the buffer it was read from.
+The same instance is reused for every line, so it must not be kept after the consumer it was passed to returns.
+ */
+public final class ByteLine {
+    private ByteBuffer buffer;
+    private int offset;
+    private int length;
+
+    void set(ByteBuffer buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    public byte byteAt(int index) {
+        return buffer.get(offset + index);
+    }
+
+    public int indexOf(byte value, int fromIndex) {
+        for (int i = fromIndex; i < length; i++) {
+            if (buffer.get(offset + i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public void copyTo(byte[] destination, int destinationOffset) {
+        buffer.get(offset, destination, destinationOffset, length);
+    }
+
+    @Override
+    public String toString() {
+        byte[] bytes = new byte[length];
+        copyTo(bytes, 0);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+}
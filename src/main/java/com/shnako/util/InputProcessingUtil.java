@@ -1,24 +1,142 @@
 package com.shnako.util;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public final class InputProcessingUtil {
+    private static final Map<String, Path> INPUT_OVERRIDES = new ConcurrentHashMap<>();
+
+    public static Path getInputPath(String day) {
+        Path override = INPUT_OVERRIDES.get(day);
+        if (override != null) {
+            return override;
+        }
+        return Paths.get(String.format("src/main/java/com/shnako/solutions/day%s/input.txt", day));
+    }
+
+    // Makes the day read its input from the file instead of its input.txt, until the override is cleared.
+    public static void overrideInput(String day, Path file) {
+        INPUT_OVERRIDES.put(day, file);
+    }
+
+    public static void clearInputOverride(String day) {
+        INPUT_OVERRIDES.remove(day);
+    }
+
     public static List<String> readInputLines(String day) throws IOException {
-        String inputFile = String.format("src/main/java/com/shnako/solutions/day%s/input.txt", day);
-        try (Stream<String> stream = Files.lines(Paths.get(inputFile))) {
+        try (Stream<String> stream = Files.lines(getInputPath(day))) {
             return stream.collect(Collectors.toList());
         }
     }
 
+    /*
+    Returns the input lines lazily, reading them from the file only as the stream is consumed.
+    The stream must be closed once consumed, which closes the file.
+     */
+    public static Stream<String> streamInputLines(String day) throws IOException {
+        return Files.lines(getInputPath(day));
+    }
+
+    /*
+    Returns the blocks of lines separated by blank lines lazily, reading them from the file only as the stream is consumed.
+    The stream must be closed once consumed, which closes the file.
+     */
+    public static Stream<List<String>> streamInputBlocks(String day) throws IOException {
+        BufferedReader reader = Files.newBufferedReader(getInputPath(day));
+        Spliterator<List<String>> blocks = Spliterators.spliteratorUnknownSize(new BlockIterator(reader),
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(blocks, false)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
     public static char[][] readCharGrid(String day) throws IOException {
         return readInputLines(day)
                 .stream()
                 .map(String::toCharArray)
                 .toArray(char[][]::new);
     }
+
+    public static MappedInput mapInput(String day) throws IOException {
+        return MappedInput.map(getInputPath(day));
+    }
+
+    public static ByteGrid readByteGrid(String day) throws IOException {
+        MappedInput input = mapInput(day);
+
+        int[] dimensions = new int[]{-1, 0};
+        input.forEachLine(line -> {
+            if (dimensions[0] == -1) {
+                dimensions[0] = line.length();
+            } else if (dimensions[0] != line.length()) {
+                throw new IllegalStateException("Input for day " + day + " is not a rectangular grid.");
+            }
+            dimensions[1]++;
+        });
+
+        int width = Math.max(dimensions[0], 0), height = dimensions[1];
+        byte[] cells = new byte[width * height];
+        int[] row = new int[]{0};
+        input.forEachLine(line -> line.copyTo(cells, width * row[0]++));
+        return new ByteGrid(cells, width, height);
+    }
+
+    private static class BlockIterator implements Iterator<List<String>> {
+        private final BufferedReader reader;
+        private List<String> nextBlock;
+
+        private BlockIterator(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextBlock == null) {
+                nextBlock = readBlock();
+            }
+            return nextBlock != null;
+        }
+
+        @Override
+        public List<String> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            List<String> block = nextBlock;
+            nextBlock = null;
+            return block;
+        }
+
+        private List<String> readBlock() {
+            try {
+                List<String> block = new ArrayList<>();
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    if (line.isBlank()) {
+                        if (!block.isEmpty()) {
+                            return block;
+                        }
+                    } else {
+                        block.add(line);
+                    }
+                }
+                return block.isEmpty() ? null : block;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
 }
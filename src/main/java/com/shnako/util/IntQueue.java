@@ -0,0 +1,61 @@
+package com.shnako.util;
+
+import java.util.NoSuchElementException;
+
+/*
+A first in, first out queue of ints backed by a ring buffer that grows as needed.
+Clearing it keeps the buffer, so it can be reused without allocating.
+ */
+public final class IntQueue {
+    private int[] elements;
+    private int head;
+    private int size;
+
+    public IntQueue() {
+        this(16);
+    }
+
+    public IntQueue(int initialCapacity) {
+        this.elements = new int[Integer.highestOneBit(Math.max(initialCapacity - 1, 1)) << 1];
+    }
+
+    public void add(int element) {
+        if (size == elements.length) {
+            grow();
+        }
+        elements[(head + size) & (elements.length - 1)] = element;
+        size++;
+    }
+
+    public int poll() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int element = elements[head];
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        return element;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    private void grow() {
+        int[] grown = new int[elements.length << 1];
+        int firstPart = elements.length - head;
+        System.arraycopy(elements, head, grown, 0, firstPart);
+        System.arraycopy(elements, 0, grown, firstPart, head);
+        elements = grown;
+        head = 0;
+    }
+}
@@ -0,0 +1,122 @@
+package com.shnako.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/*
+An input file mapped into memory, so lines can be processed straight from the page cache without creating any objects.
+A single buffer can't address more than 2GB, so larger files are mapped as multiple regions.
+Every region ends on a line boundary, which means that no line is ever split between two regions.
+ */
+public final class MappedInput {
+    private static final long MAX_REGION_SIZE = Integer.MAX_VALUE;
+
+    private final List<ByteBuffer> regions;
+    private final long size;
+
+    private MappedInput(List<ByteBuffer> regions, long size) {
+        this.regions = regions;
+        this.size = size;
+    }
+
+    public static MappedInput map(Path file) throws IOException {
+        return map(file, MAX_REGION_SIZE);
+    }
+
+    static MappedInput map(Path file, long maxRegionSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            List<ByteBuffer> regions = new ArrayList<>();
+            long position = 0;
+            while (position < size) {
+                long mappedSize = Math.min(maxRegionSize, size - position);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, mappedSize);
+                int regionSize = position + mappedSize == size ? (int) mappedSize : findRegionEnd(buffer, file);
+                regions.add(buffer.slice(0, regionSize));
+                position += regionSize;
+            }
+            return new MappedInput(Collections.unmodifiableList(regions), size);
+        }
+    }
+
+    private static int findRegionEnd(ByteBuffer buffer, Path file) throws IOException {
+        for (int i = buffer.limit() - 1; i >= 0; i--) {
+            if (buffer.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        throw new IOException("Line too long to be mapped in " + file);
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public List<ByteBuffer> regions() {
+        return regions;
+    }
+
+    /*
+    Splits the input into about the given number of chunks of similar size, each ending on a line boundary,
+    so the chunks can be processed in parallel with forEachLine without any line being split between two of them.
+    No chunk is made smaller than the minimum size, so small inputs aren't split into more chunks than are worth it.
+     */
+    public List<ByteBuffer> split(int chunkCount, int minChunkSize) {
+        long chunkSize = Math.max(minChunkSize, Math.ceilDiv(size, Math.max(chunkCount, 1)));
+        List<ByteBuffer> chunks = new ArrayList<>();
+        for (ByteBuffer region : regions) {
+            int chunkStart = 0;
+            int limit = region.limit();
+            while (chunkStart < limit) {
+                int chunkEnd = (int) Math.min(limit, chunkStart + chunkSize);
+                while (chunkEnd < limit && region.get(chunkEnd - 1) != '\n') {
+                    chunkEnd++;
+                }
+                chunks.add(region.slice(chunkStart, chunkEnd - chunkStart));
+                chunkStart = chunkEnd;
+            }
+        }
+        return chunks;
+    }
+
+    public void forEachLine(Consumer<ByteLine> consumer) {
+        ByteLine line = new ByteLine();
+        for (ByteBuffer region : regions) {
+            forEachLine(region, line, consumer);
+        }
+    }
+
+    public static void forEachLine(ByteBuffer buffer, Consumer<ByteLine> consumer) {
+        forEachLine(buffer, new ByteLine(), consumer);
+    }
+
+    private static void forEachLine(ByteBuffer buffer, ByteLine line, Consumer<ByteLine> consumer) {
+        int lineStart = 0;
+        int limit = buffer.limit();
+        for (int i = 0; i < limit; i++) {
+            if (buffer.get(i) == '\n') {
+                acceptLine(buffer, lineStart, i, line, consumer);
+                lineStart = i + 1;
+            }
+        }
+        if (lineStart < limit) {
+            acceptLine(buffer, lineStart, limit, line, consumer);
+        }
+    }
+
+    private static void acceptLine(ByteBuffer buffer, int start, int end, ByteLine line, Consumer<ByteLine> consumer) {
+        if (end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        line.set(buffer, start, end - start);
+        consumer.accept(line);
+    }
+}
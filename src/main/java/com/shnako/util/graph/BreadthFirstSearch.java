@@ -0,0 +1,49 @@
+package com.shnako.util.graph;
+
+import com.shnako.util.IntQueue;
+
+import java.util.Arrays;
+
+/*
+Finds the number of edges on the shortest path from a source node to every node, ignoring the edge weights.
+The distances array and queue are kept between searches, so searching again doesn't allocate.
+ */
+public final class BreadthFirstSearch {
+    public static final int UNREACHABLE = -1;
+
+    private final IntQueue queue = new IntQueue();
+    private int[] distances = new int[0];
+    private int nodeCount;
+
+    public void run(Graph graph, int source) {
+        nodeCount = graph.nodeCount();
+        if (distances.length < nodeCount) {
+            distances = new int[nodeCount];
+        }
+        Arrays.fill(distances, 0, nodeCount, UNREACHABLE);
+        queue.clear();
+
+        distances[source] = 0;
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            int nextDistance = distances[node] + 1;
+            for (int edge = graph.edgeStart(node); edge < graph.edgeEnd(node); edge++) {
+                int target = graph.target(edge);
+                if (distances[target] == UNREACHABLE) {
+                    distances[target] = nextDistance;
+                    queue.add(target);
+                }
+            }
+        }
+    }
+
+    // The distance from the source of the last search, or UNREACHABLE.
+    public int distance(int node) {
+        return distances[node];
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+}
@@ -0,0 +1,68 @@
+package com.shnako.util.graph;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/*
+A monotone priority queue of ints with small non-negative int priorities, also known as Dial's buckets.
+There is one bucket per priority, reused in a circle, so adding and polling don't compare or allocate anything.
+The priority of an added element must be between the priority of the last polled element
+and that plus the number of buckets - 1, which is always the case in Dijkstra's algorithm
+when the number of buckets is larger than the maximum edge weight.
+ */
+public final class BucketQueue {
+    private final int[][] buckets;
+    private final int[] bucketSizes;
+    private int size;
+    private int priority;
+
+    public BucketQueue(int bucketCount) {
+        this.buckets = new int[bucketCount][16];
+        this.bucketSizes = new int[bucketCount];
+    }
+
+    public int bucketCount() {
+        return buckets.length;
+    }
+
+    public void add(int element, int elementPriority) {
+        if (elementPriority < priority || elementPriority - priority >= buckets.length) {
+            throw new IllegalArgumentException(String.format("Priority %d is out of range for current priority %d.",
+                    elementPriority, priority));
+        }
+        int bucket = elementPriority % buckets.length;
+        if (bucketSizes[bucket] == buckets[bucket].length) {
+            buckets[bucket] = Arrays.copyOf(buckets[bucket], bucketSizes[bucket] << 1);
+        }
+        buckets[bucket][bucketSizes[bucket]++] = element;
+        size++;
+    }
+
+    // Returns an element with the lowest priority, which is then available from priority().
+    public int poll() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int bucket = priority % buckets.length;
+        while (bucketSizes[bucket] == 0) {
+            priority++;
+            bucket = priority % buckets.length;
+        }
+        size--;
+        return buckets[bucket][--bucketSizes[bucket]];
+    }
+
+    public int priority() {
+        return priority;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(bucketSizes, 0);
+        size = 0;
+        priority = 0;
+    }
+}
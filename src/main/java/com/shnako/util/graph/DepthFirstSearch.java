@@ -0,0 +1,57 @@
+package com.shnako.util.graph;
+
+import java.util.Arrays;
+
+/*
+Finds the longest path between 2 nodes that doesn't visit any node twice, by going through every such path.
+The search uses its own stack rather than recursion, so it isn't limited by the thread stack size.
+The stack and visited nodes are kept between searches, so searching again doesn't allocate.
+ */
+public final class DepthFirstSearch {
+    public static final int UNREACHABLE = -1;
+
+    private int[] pathNodes = new int[0];
+    private int[] pathEdges = new int[0];
+    private int[] pathDistances = new int[0];
+    private boolean[] visited = new boolean[0];
+
+    public int findLongestPath(Graph graph, int from, int to) {
+        int nodeCount = graph.nodeCount();
+        if (visited.length < nodeCount) {
+            pathNodes = new int[nodeCount];
+            pathEdges = new int[nodeCount];
+            pathDistances = new int[nodeCount];
+            visited = new boolean[nodeCount];
+        }
+        Arrays.fill(visited, 0, nodeCount, false);
+
+        int longestPath = UNREACHABLE;
+        int depth = 0;
+        pathNodes[0] = from;
+        pathEdges[0] = graph.edgeStart(from);
+        pathDistances[0] = 0;
+        visited[from] = true;
+        while (depth >= 0) {
+            int node = pathNodes[depth];
+            if (node == to || pathEdges[depth] == graph.edgeEnd(node)) {
+                if (node == to) {
+                    longestPath = Math.max(longestPath, pathDistances[depth]);
+                }
+                visited[node] = false;
+                depth--;
+                continue;
+            }
+
+            int edge = pathEdges[depth]++;
+            int target = graph.target(edge);
+            if (!visited[target]) {
+                visited[target] = true;
+                depth++;
+                pathNodes[depth] = target;
+                pathEdges[depth] = graph.edgeStart(target);
+                pathDistances[depth] = pathDistances[depth - 1] + graph.weight(edge);
+            }
+        }
+        return longestPath;
+    }
+}
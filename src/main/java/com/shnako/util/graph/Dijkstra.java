@@ -0,0 +1,52 @@
+package com.shnako.util.graph;
+
+import java.util.Arrays;
+
+/*
+Dijkstra's algorithm finding the shortest distance from a source node to every node.
+The edge weights are expected to be small, so the nodes to visit are kept in a BucketQueue rather than a heap.
+The distances array and queue are kept between searches, so searching again doesn't allocate.
+ */
+public final class Dijkstra {
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private BucketQueue queue = new BucketQueue(2);
+    private int[] distances = new int[0];
+
+    public void run(Graph graph, int source) {
+        int nodeCount = graph.nodeCount();
+        if (distances.length < nodeCount) {
+            distances = new int[nodeCount];
+        }
+        Arrays.fill(distances, 0, nodeCount, UNREACHABLE);
+        if (queue.bucketCount() <= graph.maxWeight()) {
+            queue = new BucketQueue(graph.maxWeight() + 1);
+        } else {
+            queue.clear();
+        }
+
+        distances[source] = 0;
+        queue.add(source, 0);
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            int distance = queue.priority();
+            if (distance > distances[node]) {
+                // A shorter way to this node has been found since it was queued.
+                continue;
+            }
+            for (int edge = graph.edgeStart(node); edge < graph.edgeEnd(node); edge++) {
+                int target = graph.target(edge);
+                int targetDistance = distance + graph.weight(edge);
+                if (targetDistance < distances[target]) {
+                    distances[target] = targetDistance;
+                    queue.add(target, targetDistance);
+                }
+            }
+        }
+    }
+
+    // The distance from the source of the last search, or UNREACHABLE.
+    public int distance(int node) {
+        return distances[node];
+    }
+}
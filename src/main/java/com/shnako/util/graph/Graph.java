@@ -0,0 +1,111 @@
+package com.shnako.util.graph;
+
+import java.util.Arrays;
+
+/*
+A directed graph with int nodes and weighted edges, stored in compressed sparse row form.
+The edges of each node are stored next to each other, so the edges of node n are the ones from edgeStart(n)
+to edgeEnd(n) - 1, and going through them is a walk over 2 arrays rather than chasing pointers through lists.
+ */
+public final class Graph {
+    private final int[] edgeStarts;
+    private final int[] targets;
+    private final int[] weights;
+    private final int maxWeight;
+
+    private Graph(int[] edgeStarts, int[] targets, int[] weights, int maxWeight) {
+        this.edgeStarts = edgeStarts;
+        this.targets = targets;
+        this.weights = weights;
+        this.maxWeight = maxWeight;
+    }
+
+    public int nodeCount() {
+        return edgeStarts.length - 1;
+    }
+
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    public int edgeStart(int node) {
+        return edgeStarts[node];
+    }
+
+    public int edgeEnd(int node) {
+        return edgeStarts[node + 1];
+    }
+
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    public int weight(int edge) {
+        return weights[edge];
+    }
+
+    public int maxWeight() {
+        return maxWeight;
+    }
+
+    /*
+    Collects the edges in any order and sorts them by their source node when building the graph.
+    The graph has as many nodes as the highest node used in an edge or given to ensureNodes.
+     */
+    public static final class Builder {
+        private int nodeCount;
+        private int edgeCount;
+        private int[] sources = new int[16];
+        private int[] targets = new int[16];
+        private int[] weights = new int[16];
+
+        public Builder ensureNodes(int count) {
+            nodeCount = Math.max(nodeCount, count);
+            return this;
+        }
+
+        public Builder addEdge(int source, int target) {
+            return addEdge(source, target, 1);
+        }
+
+        public Builder addEdge(int source, int target, int weight) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Edge weights can't be negative: " + weight);
+            }
+            if (edgeCount == sources.length) {
+                sources = Arrays.copyOf(sources, edgeCount << 1);
+                targets = Arrays.copyOf(targets, edgeCount << 1);
+                weights = Arrays.copyOf(weights, edgeCount << 1);
+            }
+            sources[edgeCount] = source;
+            targets[edgeCount] = target;
+            weights[edgeCount] = weight;
+            edgeCount++;
+            nodeCount = Math.max(nodeCount, Math.max(source, target) + 1);
+            return this;
+        }
+
+        public Graph build() {
+            int[] edgeStarts = new int[nodeCount + 1];
+            for (int i = 0; i < edgeCount; i++) {
+                edgeStarts[sources[i] + 1]++;
+            }
+            for (int node = 0; node < nodeCount; node++) {
+                edgeStarts[node + 1] += edgeStarts[node];
+            }
+
+            // Edges from the same source keep the order they were added in.
+            int[] nextEdge = Arrays.copyOf(edgeStarts, nodeCount);
+            int[] sortedTargets = new int[edgeCount];
+            int[] sortedWeights = new int[edgeCount];
+            int maxWeight = 0;
+            for (int i = 0; i < edgeCount; i++) {
+                int edge = nextEdge[sources[i]]++;
+                sortedTargets[edge] = targets[i];
+                sortedWeights[edge] = weights[i];
+                maxWeight = Math.max(maxWeight, weights[i]);
+            }
+            return new Graph(edgeStarts, sortedTargets, sortedWeights, maxWeight);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.shnako.util.grid;
+
+import java.util.Arrays;
+
+/*
+A set of cell ids backed by a bitset, so adding and checking a cell never allocates.
+It can be cleared and reused for as many searches as needed.
+ */
+public final class CellSet {
+    private final long[] words;
+    private int size;
+
+    public CellSet(int capacity) {
+        this.words = new long[(capacity + 63) >>> 6];
+    }
+
+    // Returns true if the cell wasn't in the set already.
+    public boolean add(int cell) {
+        long mask = 1L << cell;
+        int wordIndex = cell >>> 6;
+        if ((words[wordIndex] & mask) != 0) {
+            return false;
+        }
+        words[wordIndex] |= mask;
+        size++;
+        return true;
+    }
+
+    // Returns true if the cell was in the set.
+    public boolean remove(int cell) {
+        long mask = 1L << cell;
+        int wordIndex = cell >>> 6;
+        if ((words[wordIndex] & mask) == 0) {
+            return false;
+        }
+        words[wordIndex] &= ~mask;
+        size--;
+        return true;
+    }
+
+    public boolean contains(int cell) {
+        return (words[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(words, 0);
+        size = 0;
+    }
+}
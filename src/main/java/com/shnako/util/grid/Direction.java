@@ -0,0 +1,35 @@
+package com.shnako.util.grid;
+
+public enum Direction {
+    // dRow and dCol represent the coordinate deltas when moving in each direction.
+    N(-1, 0),
+    E(0, 1),
+    S(1, 0),
+    W(0, -1);
+
+    private static final Direction[] VALUES = values();
+
+    private final int dRow;
+    private final int dCol;
+
+    Direction(int dRow, int dCol) {
+        this.dRow = dRow;
+        this.dCol = dCol;
+    }
+
+    public int dRow() {
+        return dRow;
+    }
+
+    public int dCol() {
+        return dCol;
+    }
+
+    public Direction opposite() {
+        return VALUES[(ordinal() + 2) % 4];
+    }
+
+    public static Direction of(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
@@ -0,0 +1,127 @@
+package com.shnako.util.grid;
+
+import com.shnako.util.ByteGrid;
+import com.shnako.util.InputProcessingUtil;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+A grid of characters stored row by row in a single byte array, surrounded by a border of BORDER cells.
+Cells are identified by their index in the array, so a cell is a single int and moving to a neighbour is an addition.
+The border means that the neighbours of every cell inside the grid are always valid cells,
+so walking off the grid can be detected by checking for the BORDER value instead of checking the bounds.
+ */
+public final class Grid {
+    public static final byte BORDER = 0;
+
+    private final byte[] cells;
+    private final int width;
+    private final int height;
+    private final int stride;
+    private final int[] offsets;
+
+    public Grid(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.stride = width + 2;
+        this.cells = new byte[stride * (height + 2)];
+        this.offsets = new int[Direction.values().length];
+        for (Direction direction : Direction.values()) {
+            offsets[direction.ordinal()] = direction.dRow() * stride + direction.dCol();
+        }
+    }
+
+    public static Grid read(String day) throws IOException {
+        return of(InputProcessingUtil.readByteGrid(day));
+    }
+
+    public static Grid of(ByteGrid byteGrid) {
+        Grid grid = new Grid(byteGrid.width(), byteGrid.height());
+        for (int row = 0; row < byteGrid.height(); row++) {
+            System.arraycopy(byteGrid.cells(), byteGrid.index(row, 0), grid.cells, grid.cell(row, 0), byteGrid.width());
+        }
+        return grid;
+    }
+
+    public static Grid of(List<String> lines) {
+        Grid grid = new Grid(lines.get(0).length(), lines.size());
+        for (int row = 0; row < grid.height; row++) {
+            for (int col = 0; col < grid.width; col++) {
+                grid.cells[grid.cell(row, col)] = (byte) lines.get(row).charAt(col);
+            }
+        }
+        return grid;
+    }
+
+    public Grid copy() {
+        Grid copy = new Grid(width, height);
+        System.arraycopy(cells, 0, copy.cells, 0, cells.length);
+        return copy;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    // The number of cell ids, including the border, which is the capacity needed by a CellSet over this grid.
+    public int size() {
+        return cells.length;
+    }
+
+    // Cells outside the grid are valid up to one row or column away, as they're part of the border.
+    public int cell(int row, int col) {
+        return (row + 1) * stride + col + 1;
+    }
+
+    public int row(int cell) {
+        return cell / stride - 1;
+    }
+
+    public int col(int cell) {
+        return cell % stride - 1;
+    }
+
+    public byte get(int cell) {
+        return cells[cell];
+    }
+
+    public byte get(int row, int col) {
+        return cells[cell(row, col)];
+    }
+
+    public void set(int cell, byte value) {
+        cells[cell] = value;
+    }
+
+    public boolean isBorder(int cell) {
+        return cells[cell] == BORDER;
+    }
+
+    public int offset(Direction direction) {
+        return offsets[direction.ordinal()];
+    }
+
+    public int neighbour(int cell, Direction direction) {
+        return cell + offsets[direction.ordinal()];
+    }
+
+    // Returns the first cell with the value, going row by row, or -1 if there isn't one.
+    public int find(byte value) {
+        for (int cell = 0; cell < cells.length; cell++) {
+            if (cells[cell] == value) {
+                return cell;
+            }
+        }
+        return -1;
+    }
+
+    public int contentHashCode() {
+        return Arrays.hashCode(cells);
+    }
+}
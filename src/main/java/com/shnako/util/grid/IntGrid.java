@@ -0,0 +1,81 @@
+package com.shnako.util.grid;
+
+import java.util.Arrays;
+
+/*
+A grid of int values using the same layout and cell ids as Grid, with the border cells set to a given value.
+ */
+public final class IntGrid {
+    private final int[] cells;
+    private final int width;
+    private final int height;
+    private final int stride;
+    private final int borderValue;
+    private final int[] offsets;
+
+    public IntGrid(int width, int height, int borderValue) {
+        this.width = width;
+        this.height = height;
+        this.stride = width + 2;
+        this.borderValue = borderValue;
+        this.cells = new int[stride * (height + 2)];
+        Arrays.fill(cells, borderValue);
+        this.offsets = new int[Direction.values().length];
+        for (Direction direction : Direction.values()) {
+            offsets[direction.ordinal()] = direction.dRow() * stride + direction.dCol();
+        }
+    }
+
+    // Maps every cell of the grid to an int, keeping the same cell ids.
+    public static IntGrid of(Grid grid, int borderValue, CellMapper mapper) {
+        IntGrid intGrid = new IntGrid(grid.width(), grid.height(), borderValue);
+        for (int row = 0; row < grid.height(); row++) {
+            for (int col = 0; col < grid.width(); col++) {
+                int cell = grid.cell(row, col);
+                intGrid.cells[cell] = mapper.map(grid.get(cell));
+            }
+        }
+        return intGrid;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    public int size() {
+        return cells.length;
+    }
+
+    public int cell(int row, int col) {
+        return (row + 1) * stride + col + 1;
+    }
+
+    public int get(int cell) {
+        return cells[cell];
+    }
+
+    public void set(int cell, int value) {
+        cells[cell] = value;
+    }
+
+    public boolean isBorder(int cell) {
+        return cells[cell] == borderValue;
+    }
+
+    public int offset(Direction direction) {
+        return offsets[direction.ordinal()];
+    }
+
+    public int neighbour(int cell, Direction direction) {
+        return cell + offsets[direction.ordinal()];
+    }
+
+    @FunctionalInterface
+    public interface CellMapper {
+        int map(byte value);
+    }
+}
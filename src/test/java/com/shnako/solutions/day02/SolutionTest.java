@@ -1,13 +1,13 @@
 package com.shnako.solutions.day02;
 
 import com.shnako.SolutionBaseTest;
-import com.shnako.solutions.SolutionBase;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class SolutionTest implements SolutionBaseTest {
-    private final SolutionBase solution = new Solution();
+    private final Solution solution = new Solution();
 
     @Test
     public void testPart1() throws Exception {
@@ -18,4 +18,10 @@ public class SolutionTest implements SolutionBaseTest {
     public void testPart2() throws Exception {
         assertEquals("49710", solution.runPart2());
     }
+
+    @Test
+    public void testSumPossibleGameIds() throws Exception {
+        int[][] bags = new int[][]{{12, 13, 14}, {0, 0, 0}, {100, 100, 100}};
+        assertArrayEquals(new long[]{2683, 0, 5050}, solution.sumPossibleGameIds(bags));
+    }
 }
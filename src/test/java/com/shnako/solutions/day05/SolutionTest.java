@@ -1,13 +1,14 @@
 package com.shnako.solutions.day05;
 
 import com.shnako.SolutionBaseTest;
-import com.shnako.solutions.SolutionBase;
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class SolutionTest implements SolutionBaseTest {
-    private final SolutionBase solution = new Solution();
+    private final Solution solution = new Solution();
 
     @Test
     public void testPart1() throws Exception {
@@ -18,4 +19,19 @@ public class SolutionTest implements SolutionBaseTest {
     public void testPart2() throws Exception {
         assertEquals("31161857", solution.runPart2());
     }
+
+    @Test
+    public void testFindMinimumLocationKernels() throws Exception {
+        Random random = new Random(5);
+        for (int batch = 0; batch < 1000; batch++) {
+            // Batches of up to 20 seeds, so the vector kernel also maps seeds after the last full vector.
+            long[] seeds = random.longs(random.nextInt(1, 21), 0, 1L << 33).toArray();
+            long expected = solution.findMinimumLocation(seeds, Solution.SeedLocationKernel.BINARY_SEARCH);
+            for (Solution.SeedLocationKernel kernel : Solution.SeedLocationKernel.values()) {
+                if (kernel.isAvailable()) {
+                    assertEquals(expected, solution.findMinimumLocation(seeds, kernel), kernel.name());
+                }
+            }
+        }
+    }
 }
@@ -1,13 +1,14 @@
 package com.shnako.solutions.day06;
 
 import com.shnako.SolutionBaseTest;
-import com.shnako.solutions.SolutionBase;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigInteger;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class SolutionTest implements SolutionBaseTest {
-    private final SolutionBase solution = new Solution();
+    private final Solution solution = new Solution();
 
     @Test
     public void testPart1() throws Exception {
@@ -18,4 +19,16 @@ public class SolutionTest implements SolutionBaseTest {
     public void testPart2() throws Exception {
         assertEquals("33875953", solution.runPart2());
     }
+
+    @Test
+    public void testCountWaysToWin() {
+        assertEquals(BigInteger.valueOf(9), Solution.countWaysToWin(BigInteger.valueOf(30), BigInteger.valueOf(200)));
+        assertEquals(BigInteger.ZERO, Solution.countWaysToWin(BigInteger.valueOf(30), BigInteger.valueOf(225)));
+
+        BigInteger time = BigInteger.TEN.pow(30);
+        BigInteger maxDistance = time.pow(2).shiftRight(2);
+        assertEquals(time.subtract(BigInteger.ONE), Solution.countWaysToWin(time, BigInteger.ZERO));
+        assertEquals(BigInteger.ONE, Solution.countWaysToWin(time, maxDistance.subtract(BigInteger.ONE)));
+        assertEquals(BigInteger.ZERO, Solution.countWaysToWin(time, maxDistance));
+    }
 }
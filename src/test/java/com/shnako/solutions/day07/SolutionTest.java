@@ -4,9 +4,14 @@ import com.shnako.SolutionBaseTest;
 import com.shnako.solutions.SolutionBase;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class SolutionTest implements SolutionBaseTest {
+    private static final String CARDS = "23456789TJQKA";
+    private static final String JOKER_REPLACEMENTS = "23456789TQKA";
+
     private final SolutionBase solution = new Solution();
 
     @Test
@@ -18,4 +23,67 @@ public class SolutionTest implements SolutionBaseTest {
     public void testPart2() throws Exception {
         assertEquals("250665248", solution.runPart2());
     }
+
+    @Test
+    public void testJokerHandTypes() {
+        assertEquals(6, Solution.getHandTypeRank("JJJJJ", true));
+        assertEquals(6, Solution.getHandTypeRank("JJJJ2", true));
+        assertEquals(5, Solution.getHandTypeRank("JJ223", true));
+        assertEquals(4, Solution.getHandTypeRank("J2233", true));
+        assertEquals(3, Solution.getHandTypeRank("JJ234", true));
+        assertEquals(1, Solution.getHandTypeRank("J2345", true));
+        assertEquals(2, Solution.getHandTypeRank("J2233", false));
+    }
+
+    // Checks every entry of both tables against classifying the hand directly, trying every replacement of its jokers.
+    @Test
+    public void testHandTypeTables() {
+        char[] hand = new char[5];
+        for (int combination = 0; combination < Math.pow(CARDS.length(), hand.length); combination++) {
+            for (int i = hand.length - 1, rest = combination; i >= 0; i--, rest /= CARDS.length()) {
+                hand[i] = CARDS.charAt(rest % CARDS.length());
+            }
+            String cards = new String(hand);
+            assertEquals(classify(hand), Solution.getHandTypeRank(cards, false), cards);
+            assertEquals(classifyWithJokers(hand.clone(), 0), Solution.getHandTypeRank(cards, true), cards + " with jokers");
+        }
+    }
+
+    private static int classifyWithJokers(char[] hand, int from) {
+        for (int i = from; i < hand.length; i++) {
+            if (hand[i] == 'J') {
+                int best = 0;
+                for (char replacement : JOKER_REPLACEMENTS.toCharArray()) {
+                    hand[i] = replacement;
+                    best = Math.max(best, classifyWithJokers(hand, i + 1));
+                }
+                hand[i] = 'J';
+                return best;
+            }
+        }
+        return classify(hand);
+    }
+
+    // The rank of the hand type, from 6 for five of a kind down to 0 for high card.
+    private static int classify(char[] hand) {
+        int[] counts = new int[CARDS.length()];
+        for (char card : hand) {
+            counts[CARDS.indexOf(card)]++;
+        }
+        Arrays.sort(counts);
+        int most = counts[counts.length - 1], secondMost = counts[counts.length - 2];
+        if (most == 5) {
+            return 6;
+        }
+        if (most == 4) {
+            return 5;
+        }
+        if (most == 3) {
+            return secondMost == 2 ? 4 : 3;
+        }
+        if (most == 2) {
+            return secondMost == 2 ? 2 : 1;
+        }
+        return 0;
+    }
 }
@@ -0,0 +1,56 @@
+package com.shnako.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ByteLineTest {
+    private static final ByteBuffer BUFFER = ByteBuffer.wrap("xxGame 12: 3 red\r\nyy".getBytes(StandardCharsets.US_ASCII));
+
+    @Test
+    public void testViewOfBuffer() {
+        ByteLine line = new ByteLine();
+        line.set(BUFFER, 2, 14);
+        assertEquals(14, line.length());
+        assertFalse(line.isEmpty());
+        assertEquals('G', line.byteAt(0));
+        assertEquals('d', line.byteAt(13));
+        assertEquals("Game 12: 3 red", line.toString());
+    }
+
+    @Test
+    public void testIndexOfStaysInsideLine() {
+        ByteLine line = new ByteLine();
+        line.set(BUFFER, 2, 14);
+        assertEquals(7, line.indexOf((byte) ':', 0));
+        assertEquals(8, line.indexOf((byte) ' ', 5));
+        // The x before and the y after the line are in the buffer, but not in the line.
+        assertEquals(-1, line.indexOf((byte) 'x', 0));
+        assertEquals(-1, line.indexOf((byte) 'y', 0));
+        assertEquals(-1, line.indexOf((byte) 'G', 1));
+    }
+
+    @Test
+    public void testCopyTo() {
+        ByteLine line = new ByteLine();
+        line.set(BUFFER, 7, 2);
+        byte[] destination = new byte[4];
+        line.copyTo(destination, 1);
+        assertArrayEquals(new byte[]{0, '1', '2', 0}, destination);
+    }
+
+    @Test
+    public void testEmptyLine() {
+        ByteLine line = new ByteLine();
+        line.set(BUFFER, 5, 0);
+        assertTrue(line.isEmpty());
+        assertEquals("", line.toString());
+        assertEquals(-1, line.indexOf((byte) 'e', 0));
+    }
+}
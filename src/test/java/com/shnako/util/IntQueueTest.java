@@ -0,0 +1,57 @@
+package com.shnako.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IntQueueTest {
+    @Test
+    public void testWrapAround() {
+        IntQueue queue = new IntQueue(4);
+        int next = 0, expected = 0;
+        // Keeps 3 elements in a 4 element buffer, so the head keeps wrapping around without growing it.
+        for (int i = 0; i < 3; i++) {
+            queue.add(next++);
+        }
+        for (int i = 0; i < 20; i++) {
+            queue.add(next++);
+            assertEquals(expected++, queue.poll());
+            assertEquals(3, queue.size());
+        }
+    }
+
+    @Test
+    public void testGrowthWhileWrapped() {
+        IntQueue queue = new IntQueue(4);
+        for (int i = 0; i < 3; i++) {
+            queue.add(i);
+        }
+        queue.poll();
+        queue.poll();
+        // The buffer is full once it wraps around, so the next add grows it and has to keep the order.
+        for (int i = 3; i < 100; i++) {
+            queue.add(i);
+        }
+        assertEquals(98, queue.size());
+        for (int i = 2; i < 100; i++) {
+            assertEquals(i, queue.poll());
+        }
+        assertTrue(queue.isEmpty());
+        assertThrows(NoSuchElementException.class, queue::poll);
+    }
+
+    @Test
+    public void testClear() {
+        IntQueue queue = new IntQueue();
+        queue.add(1);
+        queue.add(2);
+        queue.clear();
+        assertTrue(queue.isEmpty());
+        queue.add(3);
+        assertEquals(3, queue.poll());
+    }
+}
@@ -0,0 +1,101 @@
+package com.shnako.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MappedInputTest {
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void testCrLfStripped() throws IOException {
+        MappedInput input = map("ab\r\ncd\r\n\r\nef");
+        assertEquals(List.of("ab", "cd", "", "ef"), readLines(input));
+    }
+
+    @Test
+    public void testMissingFinalNewline() throws IOException {
+        assertEquals(List.of("ab", "cd"), readLines(map("ab\ncd")));
+        assertEquals(List.of("ab", "cd"), readLines(map("ab\ncd\n")));
+        assertEquals(List.of("ab", "cd"), readLines(map("ab\r\ncd\r")));
+    }
+
+    @Test
+    public void testEmptyLines() throws IOException {
+        assertEquals(List.of("", "ab", "", "", "cd"), readLines(map("\nab\n\n\ncd\n")));
+        assertEquals(List.of(), readLines(map("")));
+    }
+
+    @Test
+    public void testSplitLandingMidLine() throws IOException {
+        String content = "aaaa\nbbbbbb\nc\r\n\nddd\neeeeeeeee";
+        MappedInput input = map(content);
+        for (int chunkCount = 1; chunkCount <= content.length() + 1; chunkCount++) {
+            for (int minChunkSize = 1; minChunkSize <= 6; minChunkSize++) {
+                List<ByteBuffer> chunks = input.split(chunkCount, minChunkSize);
+                List<String> lines = new ArrayList<>();
+                long totalSize = 0;
+                for (int i = 0; i < chunks.size(); i++) {
+                    ByteBuffer chunk = chunks.get(i);
+                    totalSize += chunk.limit();
+                    assertTrue(chunk.limit() >= minChunkSize || i == chunks.size() - 1, "chunk " + i + " is too small");
+                    if (i < chunks.size() - 1) {
+                        assertEquals('\n', chunk.get(chunk.limit() - 1), "chunk " + i + " ends mid-line");
+                    }
+                    MappedInput.forEachLine(chunk, line -> lines.add(line.toString()));
+                }
+                assertEquals(content.length(), totalSize);
+                assertEquals(readLines(input), lines, chunkCount + " chunks of at least " + minChunkSize);
+            }
+        }
+    }
+
+    @Test
+    public void testRegionsEndOnLineBoundaries() throws IOException {
+        String content = "aaaa\nbbbbbb\nc\r\nddd\ne";
+        MappedInput input = map(content, 8);
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < input.regions().size(); i++) {
+            ByteBuffer region = input.regions().get(i);
+            assertTrue(region.limit() <= 8);
+            if (i < input.regions().size() - 1) {
+                assertEquals('\n', region.get(region.limit() - 1));
+            }
+        }
+        input.forEachLine(line -> lines.add(line.toString()));
+        assertEquals(List.of("aaaa", "bbbbbb", "c", "ddd", "e"), lines);
+        assertEquals(content.length(), input.size());
+    }
+
+    @Test
+    public void testLineLongerThanRegion() throws IOException {
+        assertThrows(IOException.class, () -> map("aaaaaaaaaa\nb", 8));
+    }
+
+    private MappedInput map(String content) throws IOException {
+        return map(content, Integer.MAX_VALUE);
+    }
+
+    private MappedInput map(String content, long maxRegionSize) throws IOException {
+        Path file = Files.writeString(directory.resolve("input.txt"), content, StandardCharsets.US_ASCII);
+        return MappedInput.map(file, maxRegionSize);
+    }
+
+    private static List<String> readLines(MappedInput input) {
+        List<String> lines = new ArrayList<>();
+        input.forEachLine(line -> lines.add(line.toString()));
+        return lines;
+    }
+}
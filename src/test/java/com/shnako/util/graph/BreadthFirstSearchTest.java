@@ -0,0 +1,41 @@
+package com.shnako.util.graph;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BreadthFirstSearchTest {
+    @Test
+    public void testDistances() {
+        // 0 -> 1 -> 2 -> 3 and a heavy shortcut 0 -> 3, whose weight is ignored. Node 4 only has an edge to 0.
+        Graph graph = new Graph.Builder()
+                .addEdge(0, 1)
+                .addEdge(1, 2)
+                .addEdge(2, 3)
+                .addEdge(0, 3, 100)
+                .addEdge(4, 0)
+                .ensureNodes(6)
+                .build();
+        BreadthFirstSearch search = new BreadthFirstSearch();
+        search.run(graph, 0);
+
+        assertEquals(6, search.nodeCount());
+        assertEquals(0, search.distance(0));
+        assertEquals(1, search.distance(1));
+        assertEquals(2, search.distance(2));
+        assertEquals(1, search.distance(3));
+        assertEquals(BreadthFirstSearch.UNREACHABLE, search.distance(4));
+        assertEquals(BreadthFirstSearch.UNREACHABLE, search.distance(5));
+    }
+
+    @Test
+    public void testReusedOnSmallerGraph() {
+        BreadthFirstSearch search = new BreadthFirstSearch();
+        search.run(new Graph.Builder().addEdge(0, 1).addEdge(1, 2).addEdge(2, 3).build(), 0);
+        search.run(new Graph.Builder().addEdge(1, 0).build(), 0);
+
+        assertEquals(2, search.nodeCount());
+        assertEquals(0, search.distance(0));
+        assertEquals(BreadthFirstSearch.UNREACHABLE, search.distance(1));
+    }
+}
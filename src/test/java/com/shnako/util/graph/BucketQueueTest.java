@@ -0,0 +1,63 @@
+package com.shnako.util.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BucketQueueTest {
+    @Test
+    public void testPollsInPriorityOrder() {
+        BucketQueue queue = new BucketQueue(3);
+        queue.add(10, 2);
+        queue.add(11, 0);
+        queue.add(12, 1);
+        assertEquals(11, queue.poll());
+        assertEquals(0, queue.priority());
+        assertEquals(12, queue.poll());
+        assertEquals(1, queue.priority());
+
+        // The buckets are reused in a circle, so priority 3 goes into the bucket that held priority 0.
+        queue.add(13, 3);
+        // Adding at the current priority, like a zero weight edge, is polled before anything with a higher priority.
+        queue.add(14, 1);
+        assertEquals(14, queue.poll());
+        assertEquals(1, queue.priority());
+        assertEquals(10, queue.poll());
+        assertEquals(2, queue.priority());
+        assertEquals(13, queue.poll());
+        assertEquals(3, queue.priority());
+        assertTrue(queue.isEmpty());
+        assertThrows(NoSuchElementException.class, queue::poll);
+    }
+
+    @Test
+    public void testBucketGrowth() {
+        BucketQueue queue = new BucketQueue(2);
+        for (int element = 0; element < 100; element++) {
+            queue.add(element, 1);
+        }
+        int sum = 0;
+        for (int element = 0; element < 100; element++) {
+            sum += queue.poll();
+            assertEquals(1, queue.priority());
+        }
+        assertEquals(99 * 100 / 2, sum);
+    }
+
+    @Test
+    public void testPriorityOutOfRange() {
+        BucketQueue queue = new BucketQueue(2);
+        assertThrows(IllegalArgumentException.class, () -> queue.add(0, 2));
+        queue.add(0, 1);
+        queue.poll();
+        assertThrows(IllegalArgumentException.class, () -> queue.add(0, 0));
+
+        queue.clear();
+        queue.add(0, 0);
+        assertEquals(0, queue.poll());
+    }
+}
@@ -0,0 +1,36 @@
+package com.shnako.util.graph;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DepthFirstSearchTest {
+    @Test
+    public void testLongestPath() {
+        // 0 -> 3 directly, or 0 -> 1 -> 2 -> 3, or through the cycle 1 <-> 2, which can't be walked twice.
+        Graph graph = new Graph.Builder()
+                .addEdge(0, 3, 10)
+                .addEdge(0, 1, 1)
+                .addEdge(1, 2, 5)
+                .addEdge(2, 1, 5)
+                .addEdge(2, 3, 6)
+                .addEdge(1, 3, 1)
+                .build();
+        DepthFirstSearch search = new DepthFirstSearch();
+        assertEquals(12, search.findLongestPath(graph, 0, 3));
+        assertEquals(0, search.findLongestPath(graph, 2, 2));
+    }
+
+    @Test
+    public void testUnreachable() {
+        Graph graph = new Graph.Builder()
+                .addEdge(0, 1)
+                .addEdge(2, 0)
+                .ensureNodes(4)
+                .build();
+        DepthFirstSearch search = new DepthFirstSearch();
+        assertEquals(DepthFirstSearch.UNREACHABLE, search.findLongestPath(graph, 0, 2));
+        assertEquals(DepthFirstSearch.UNREACHABLE, search.findLongestPath(graph, 0, 3));
+        assertEquals(1, search.findLongestPath(graph, 0, 1));
+    }
+}
@@ -0,0 +1,69 @@
+package com.shnako.util.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DijkstraTest {
+    @Test
+    public void testZeroWeightAndUnreachableNodes() {
+        Graph graph = new Graph.Builder()
+                .addEdge(0, 1, 0)
+                .addEdge(1, 2, 0)
+                .addEdge(0, 2, 1)
+                .addEdge(2, 3, 5)
+                .addEdge(4, 3, 1)
+                .build();
+        Dijkstra dijkstra = new Dijkstra();
+        dijkstra.run(graph, 0);
+
+        assertEquals(0, dijkstra.distance(0));
+        assertEquals(0, dijkstra.distance(1));
+        assertEquals(0, dijkstra.distance(2));
+        assertEquals(5, dijkstra.distance(3));
+        assertEquals(Dijkstra.UNREACHABLE, dijkstra.distance(4));
+    }
+
+    @Test
+    public void testMatchesBellmanFord() {
+        Random random = new Random(8);
+        Dijkstra dijkstra = new Dijkstra();
+        for (int test = 0; test < 200; test++) {
+            // The maximum weight changes between runs, so the reused queue sometimes has to grow.
+            int nodeCount = random.nextInt(1, 30);
+            int maxWeight = random.nextInt(0, 20);
+            Graph.Builder builder = new Graph.Builder().ensureNodes(nodeCount);
+            for (int edge = random.nextInt(0, nodeCount * 3); edge > 0; edge--) {
+                builder.addEdge(random.nextInt(nodeCount), random.nextInt(nodeCount), random.nextInt(0, maxWeight + 1));
+            }
+            Graph graph = builder.build();
+
+            dijkstra.run(graph, 0);
+            int[] expected = bellmanFord(graph, 0);
+            for (int node = 0; node < nodeCount; node++) {
+                assertEquals(expected[node], dijkstra.distance(node), "test " + test + " node " + node);
+            }
+        }
+    }
+
+    private static int[] bellmanFord(Graph graph, int source) {
+        int[] distances = new int[graph.nodeCount()];
+        Arrays.fill(distances, Dijkstra.UNREACHABLE);
+        distances[source] = 0;
+        for (int round = 1; round < graph.nodeCount(); round++) {
+            for (int node = 0; node < graph.nodeCount(); node++) {
+                if (distances[node] == Dijkstra.UNREACHABLE) {
+                    continue;
+                }
+                for (int edge = graph.edgeStart(node); edge < graph.edgeEnd(node); edge++) {
+                    int target = graph.target(edge);
+                    distances[target] = Math.min(distances[target], distances[node] + graph.weight(edge));
+                }
+            }
+        }
+        return distances;
+    }
+}
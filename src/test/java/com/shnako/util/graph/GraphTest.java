@@ -0,0 +1,49 @@
+package com.shnako.util.graph;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class GraphTest {
+    @Test
+    public void testCompressedSparseRows() {
+        // The edges are added out of source order, so building the graph has to group them by source.
+        Graph graph = new Graph.Builder()
+                .addEdge(2, 0, 4)
+                .addEdge(0, 1, 2)
+                .addEdge(2, 1)
+                .addEdge(0, 2, 7)
+                .ensureNodes(5)
+                .build();
+
+        assertEquals(5, graph.nodeCount());
+        assertEquals(4, graph.edgeCount());
+        assertEquals(7, graph.maxWeight());
+
+        assertEquals(0, graph.edgeStart(0));
+        assertEquals(2, graph.edgeEnd(0));
+        assertEquals(1, graph.target(0));
+        assertEquals(2, graph.weight(0));
+        assertEquals(2, graph.target(1));
+        assertEquals(7, graph.weight(1));
+
+        assertEquals(graph.edgeEnd(1), graph.edgeStart(1));
+
+        assertEquals(2, graph.edgeStart(2));
+        assertEquals(4, graph.edgeEnd(2));
+        assertEquals(0, graph.target(2));
+        assertEquals(4, graph.weight(2));
+        assertEquals(1, graph.target(3));
+        assertEquals(1, graph.weight(3));
+
+        // The nodes added by ensureNodes have no edges.
+        assertEquals(4, graph.edgeStart(4));
+        assertEquals(4, graph.edgeEnd(4));
+    }
+
+    @Test
+    public void testNegativeWeight() {
+        assertThrows(IllegalArgumentException.class, () -> new Graph.Builder().addEdge(0, 1, -1));
+    }
+}
@@ -0,0 +1,45 @@
+package com.shnako.util.grid;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CellSetTest {
+    @Test
+    public void testMembership() {
+        // The cells are either side of the long word boundaries, including the last cell of a partial word.
+        int[] cells = {0, 1, 63, 64, 65, 127, 128, 129};
+        CellSet cellSet = new CellSet(130);
+        for (int cell : cells) {
+            assertTrue(cellSet.add(cell));
+            assertFalse(cellSet.add(cell));
+        }
+        assertEquals(cells.length, cellSet.size());
+        for (int cell = 0; cell < 130; cell++) {
+            boolean isAdded = false;
+            for (int added : cells) {
+                isAdded |= added == cell;
+            }
+            assertEquals(isAdded, cellSet.contains(cell), "cell " + cell);
+        }
+    }
+
+    @Test
+    public void testRemoveAndClear() {
+        CellSet cellSet = new CellSet(100);
+        cellSet.add(5);
+        cellSet.add(70);
+        assertTrue(cellSet.remove(70));
+        assertFalse(cellSet.remove(70));
+        assertFalse(cellSet.contains(70));
+        assertTrue(cellSet.contains(5));
+        assertEquals(1, cellSet.size());
+
+        cellSet.clear();
+        assertEquals(0, cellSet.size());
+        assertFalse(cellSet.contains(5));
+        assertTrue(cellSet.add(5));
+    }
+}
@@ -0,0 +1,29 @@
+package com.shnako.util.grid;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DirectionTest {
+    @Test
+    public void testOpposite() {
+        assertEquals(Direction.S, Direction.N.opposite());
+        assertEquals(Direction.W, Direction.E.opposite());
+        for (Direction direction : Direction.values()) {
+            assertEquals(-direction.dRow(), direction.opposite().dRow());
+            assertEquals(-direction.dCol(), direction.opposite().dCol());
+            assertEquals(direction, direction.opposite().opposite());
+        }
+    }
+
+    @Test
+    public void testDeltasAndOrdinals() {
+        // The directions go clockwise from north, each moving a single row or column.
+        assertEquals(-1, Direction.N.dRow());
+        assertEquals(1, Direction.E.dCol());
+        for (Direction direction : Direction.values()) {
+            assertEquals(1, Math.abs(direction.dRow()) + Math.abs(direction.dCol()));
+            assertEquals(direction, Direction.of(direction.ordinal()));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.shnako.util.grid;
+
+import com.shnako.util.ByteGrid;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GridTest {
+    private static final List<String> LINES = List.of("abc", "def");
+
+    @Test
+    public void testCellRowAndCol() {
+        Grid grid = Grid.of(LINES);
+        assertEquals(3, grid.width());
+        assertEquals(2, grid.height());
+        assertEquals(5 * 4, grid.size());
+        for (int row = -1; row <= grid.height(); row++) {
+            for (int col = -1; col <= grid.width(); col++) {
+                int cell = grid.cell(row, col);
+                assertEquals(row, grid.row(cell));
+                assertEquals(col, grid.col(cell));
+            }
+        }
+        assertEquals('a', grid.get(0, 0));
+        assertEquals('f', grid.get(grid.cell(1, 2)));
+    }
+
+    @Test
+    public void testSentinelBorder() {
+        Grid grid = Grid.of(LINES);
+        for (int cell = 0; cell < grid.size(); cell++) {
+            int row = grid.row(cell), col = grid.col(cell);
+            boolean isInside = row >= 0 && row < grid.height() && col >= 0 && col < grid.width();
+            assertEquals(!isInside, grid.isBorder(cell), "cell " + row + "," + col);
+        }
+    }
+
+    @Test
+    public void testNeighbours() {
+        Grid grid = Grid.of(LINES);
+        int cell = grid.cell(0, 1);
+        assertEquals(grid.cell(-1, 1), grid.neighbour(cell, Direction.N));
+        assertEquals(grid.cell(0, 2), grid.neighbour(cell, Direction.E));
+        assertEquals(grid.cell(1, 1), grid.neighbour(cell, Direction.S));
+        assertEquals(grid.cell(0, 0), grid.neighbour(cell, Direction.W));
+        assertTrue(grid.isBorder(grid.neighbour(cell, Direction.N)));
+        for (Direction direction : Direction.values()) {
+            assertEquals(grid.neighbour(cell, direction), cell + grid.offset(direction));
+        }
+    }
+
+    @Test
+    public void testOfByteGridMatchesOfLines() {
+        byte[] cells = String.join("", LINES).getBytes(StandardCharsets.US_ASCII);
+        Grid grid = Grid.of(new ByteGrid(cells, 3, 2));
+        assertEquals(Grid.of(LINES).contentHashCode(), grid.contentHashCode());
+    }
+
+    @Test
+    public void testFindAndCopy() {
+        Grid grid = Grid.of(LINES);
+        assertEquals(grid.cell(1, 1), grid.find((byte) 'e'));
+        assertEquals(-1, grid.find((byte) 'z'));
+
+        Grid copy = grid.copy();
+        copy.set(copy.cell(1, 1), (byte) 'z');
+        assertEquals('e', grid.get(1, 1));
+        assertEquals('z', copy.get(1, 1));
+    }
+}
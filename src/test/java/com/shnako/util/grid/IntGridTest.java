@@ -0,0 +1,50 @@
+package com.shnako.util.grid;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IntGridTest {
+    private static final int BORDER = -1;
+
+    @Test
+    public void testSameCellsAsGrid() {
+        Grid grid = Grid.of(List.of("12", "34", "56"));
+        IntGrid intGrid = IntGrid.of(grid, BORDER, value -> value - '0');
+        assertEquals(grid.width(), intGrid.width());
+        assertEquals(grid.height(), intGrid.height());
+        assertEquals(grid.size(), intGrid.size());
+        for (int row = -1; row <= grid.height(); row++) {
+            for (int col = -1; col <= grid.width(); col++) {
+                assertEquals(grid.cell(row, col), intGrid.cell(row, col));
+            }
+        }
+        for (Direction direction : Direction.values()) {
+            assertEquals(grid.offset(direction), intGrid.offset(direction));
+        }
+        assertEquals(4, intGrid.get(intGrid.cell(1, 1)));
+        assertEquals(6, intGrid.get(intGrid.neighbour(intGrid.cell(1, 1), Direction.S)));
+    }
+
+    @Test
+    public void testSentinelBorder() {
+        IntGrid intGrid = new IntGrid(2, 3, BORDER);
+        for (int row = 0; row < intGrid.height(); row++) {
+            for (int col = 0; col < intGrid.width(); col++) {
+                intGrid.set(intGrid.cell(row, col), row * intGrid.width() + col);
+            }
+        }
+        int borderCells = 0;
+        for (int cell = 0; cell < intGrid.size(); cell++) {
+            borderCells += intGrid.isBorder(cell) ? 1 : 0;
+        }
+        assertEquals(4 * 5 - 2 * 3, borderCells);
+        assertTrue(intGrid.isBorder(intGrid.cell(-1, 0)));
+        assertTrue(intGrid.isBorder(intGrid.cell(0, 2)));
+        assertFalse(intGrid.isBorder(intGrid.cell(2, 1)));
+    }
+}
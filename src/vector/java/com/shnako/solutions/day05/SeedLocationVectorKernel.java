@@ -0,0 +1,42 @@
+package com.shnako.solutions.day05;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/*
+The vector kernel of the day 5 seed location lookup, mapping as many seeds at once as fit in a SIMD register.
+It lives in its own source set, the only one compiled with the incubating jdk.incubator.vector module,
+and its classes can only be loaded when the JVM was started with --add-modules jdk.incubator.vector,
+so the solution only uses it after checking the module is there.
+ */
+final class SeedLocationVectorKernel {
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    private SeedLocationVectorKernel() {
+    }
+
+    // The offset of each source is the sum of offsetChanges over the ranges starting at or before it.
+    static long getMinimumDestination(long[] starts, long[] offsetChanges, long[] sources) {
+        LongVector minimumDestinations = LongVector.broadcast(SPECIES, Long.MAX_VALUE);
+        int i = 0;
+        for (; i < SPECIES.loopBound(sources.length); i += SPECIES.length()) {
+            LongVector sourceVector = LongVector.fromArray(SPECIES, sources, i);
+            LongVector destinations = sourceVector;
+            for (int range = 0; range < starts.length; range++) {
+                destinations = destinations.add(offsetChanges[range], sourceVector.compare(VectorOperators.GE, starts[range]));
+            }
+            minimumDestinations = minimumDestinations.min(destinations);
+        }
+
+        long minimumDestination = minimumDestinations.reduceLanes(VectorOperators.MIN);
+        for (; i < sources.length; i++) {
+            long destination = sources[i];
+            for (int range = 0; range < starts.length; range++) {
+                destination += offsetChanges[range] & ((starts[range] - sources[i] - 1) >> 63);
+            }
+            minimumDestination = Math.min(minimumDestination, destination);
+        }
+        return minimumDestination;
+    }
+}